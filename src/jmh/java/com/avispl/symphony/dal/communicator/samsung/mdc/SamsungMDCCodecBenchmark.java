@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.communicator.samsung.mdc;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import static com.avispl.symphony.dal.communicator.samsung.mdc.SamsungMDCConstants.*;
+
+/**
+ * Throughput and allocation of the MDC codec, run with {@code mvn -P benchmark verify}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SamsungMDCCodecBenchmark {
+
+    private final SamsungMDCFrameDecoder decoder = new SamsungMDCFrameDecoder();
+    private final SamsungMDCFrame frame = new SamsungMDCFrame();
+    private final SamsungMDCFrameCache frameCache = new SamsungMDCFrameCache(1);
+    private final ByteBuffer request = ByteBuffer.allocate(SamsungMDCUtils.sendStringLength(new byte[1]));
+
+    private byte[] powerParam;
+    private byte[] statusResponse;
+    private byte[] pipelinedResponses;
+
+    @Setup
+    public void setup() {
+        powerParam = new byte[]{powerStatusNames.ON.code};
+        statusResponse = response(commandNames.status, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x2A, (byte) 0x00);
+        byte[] power = response(commandNames.power, (byte) 0x01);
+        byte[] input = response(commandNames.input, (byte) 0x21);
+
+        pipelinedResponses = new byte[power.length + statusResponse.length + input.length];
+        System.arraycopy(power, 0, pipelinedResponses, 0, power.length);
+        System.arraycopy(statusResponse, 0, pipelinedResponses, power.length, statusResponse.length);
+        System.arraycopy(input, 0, pipelinedResponses, power.length + statusResponse.length, input.length);
+    }
+
+    @Benchmark
+    public byte[] buildSendString() {
+        return SamsungMDCUtils.buildSendString((byte) 1, SamsungMDCCommand.of(commandNames.power).getCode(), powerParam);
+    }
+
+    @Benchmark
+    public ByteBuffer cachedSendString() {
+        request.clear();
+        frameCache.putSetFrame(request, commandNames.power, powerParam[0]);
+        return request;
+    }
+
+    @Benchmark
+    public byte checkSum() {
+        //the part of a response the decoder verifies: between header and checksum
+        return SamsungMDCUtils.checkSum(statusResponse, 1, statusResponse.length - 2);
+    }
+
+    @Benchmark
+    public String getHexByteString() throws IOException {
+        return SamsungMDCUtils.getHexByteString(statusResponse);
+    }
+
+    @Benchmark
+    public statusCodeNames decodeStatusResponse() {
+        decoder.feed(statusResponse);
+        decoder.next(frame);
+        return statusCodesByCode[frame.getValue(5) & 0xFF];
+    }
+
+    @Benchmark
+    public inputNames decodePipelinedResponses() {
+        decoder.feed(pipelinedResponses);
+        inputNames input = null;
+        while (decoder.next(frame)) {
+            if (SamsungMDCCommand.byCode(frame.getCommand()) == commandNames.input) {
+                input = inputsByCode[frame.getValue(0) & 0xFF];
+            }
+        }
+        return input;
+    }
+
+    /**
+     * This method is used to build an ACK response of display 1
+     * @param command This is the command being answered
+     * @param values This is the list of values following the response command
+     * @return byte[] This returns the response frame
+     */
+    private static byte[] response(commandNames command, byte... values) {
+        return SamsungMDCSimulator.response((byte) 1, (byte) 'A', SamsungMDCCommand.of(command).getCode(), values);
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.communicator.samsung.mdc;
+
+import com.avispl.symphony.api.dal.dto.control.ControllableProperty;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.avispl.symphony.dal.communicator.samsung.mdc.SamsungMDCConstants.*;
+
+/**
+ * Fleet soak harness: runs N {@link SamsungMDCDevice} instances through the SocketCommunicator lifecycle against
+ * {@link SamsungMDCSimulator} displays, polling statistics and toggling power on a schedule,
+ * and writes poll latency, throughput, heap and thread figures as a JSON report.
+ *
+ * Configured through system properties: devices, devicesPerPort, duration (s), pollInterval (ms),
+ * controlInterval (ms, 0 for no controls), pollThreads, pollMode, statisticsCacheTTL, latency, jitter, report
+ */
+public class SamsungMDCSoak {
+
+    /**
+     * Latency samples in microseconds
+     */
+    private static class Samples {
+        private long[] values = new long[1024];
+        private int count;
+
+        synchronized void add(long value) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = value;
+        }
+
+        synchronized int count() {
+            return count;
+        }
+
+        synchronized long[] sorted() {
+            long[] sorted = Arrays.copyOf(values, count);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+
+    private final int deviceCount = Integer.getInteger("devices", 500);
+    private final int devicesPerPort = Integer.getInteger("devicesPerPort", 100);
+    private final int duration = Integer.getInteger("duration", 60);
+    private final int pollInterval = Integer.getInteger("pollInterval", 5000);
+    private final int controlInterval = Integer.getInteger("controlInterval", 30000);
+    private final int pollThreads = Integer.getInteger("pollThreads", 32);
+    private final String pollMode = System.getProperty("pollMode", pollModeNames.SEQUENTIAL.name());
+    private final long statisticsCacheTTL = Long.getLong("statisticsCacheTTL", 0);
+    private final String report = System.getProperty("report", "target/soak-report.json");
+
+    private final Samples pollLatencies = new Samples();
+    private final Samples controlLatencies = new Samples();
+    private final AtomicLong pollErrors = new AtomicLong();
+    private final AtomicLong controlErrors = new AtomicLong();
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) throws Exception {
+        new SamsungMDCSoak().run();
+        System.exit(0);
+    }
+
+    /**
+     * This method is used to run the soak and write the report
+     * @throws Exception if the simulator can't be started, the run is interrupted or the report can't be written
+     */
+    private void run() throws Exception {
+        SamsungMDCSimulator simulator = new SamsungMDCSimulator();
+        simulator.setLatency(Integer.getInteger("latency", 20));
+        simulator.setJitter(Integer.getInteger("jitter", 10));
+
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(pollThreads, runnable -> {
+            Thread thread = new Thread(runnable, "SamsungMDC soak");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        int baseThreads = threads.getThreadCount();
+        long baseHeap = usedHeap();
+
+        List<SamsungMDCDevice> devices = new ArrayList<>(deviceCount);
+        int port = 0;
+        for (int i = 0; i < deviceCount; i++) {
+            if (i % devicesPerPort == 0) {
+                port = simulator.listen(0);
+            }
+            SamsungMDCDevice device = new SamsungMDCDevice();
+            device.setHost("127.0.0.1");
+            device.setPort(port);
+            device.setMonitorID(i % devicesPerPort % 254 + 1);
+            device.setPollMode(pollMode);
+            device.setStatisticsCacheTTL(statisticsCacheTTL);
+            device.init();
+            devices.add(device);
+        }
+        for (SamsungMDCDevice device : devices) {
+            poll(device);
+        }
+        long deviceHeap = usedHeap() - baseHeap;
+        int deviceThreads = threads.getThreadCount() - baseThreads;
+
+        threads.resetPeakThreadCount();
+        long pollsBefore = pollLatencies.count();
+        long start = System.nanoTime();
+        for (SamsungMDCDevice device : devices) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            scheduler.scheduleWithFixedDelay(() -> poll(device), random.nextInt(pollInterval), pollInterval, TimeUnit.MILLISECONDS);
+            if (controlInterval > 0) {
+                scheduler.scheduleWithFixedDelay(() -> togglePower(device), random.nextInt(controlInterval), controlInterval, TimeUnit.MILLISECONDS);
+            }
+        }
+        Thread.sleep(TimeUnit.SECONDS.toMillis(duration));
+        scheduler.shutdownNow();
+        scheduler.awaitTermination(1, TimeUnit.MINUTES);
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        int peakThreads = threads.getPeakThreadCount();
+
+        long[] polls = pollLatencies.sorted();
+        long[] controls = controlLatencies.sorted();
+        String json = "{\n" +
+                "  \"devices\": " + deviceCount + ",\n" +
+                "  \"devicesPerPort\": " + devicesPerPort + ",\n" +
+                "  \"pollMode\": \"" + pollMode + "\",\n" +
+                "  \"pollInterval\": " + pollInterval + ",\n" +
+                "  \"controlInterval\": " + controlInterval + ",\n" +
+                "  \"pollThreads\": " + pollThreads + ",\n" +
+                "  \"simulatorLatency\": " + simulator.getLatency() + ",\n" +
+                "  \"simulatorJitter\": " + simulator.getJitter() + ",\n" +
+                "  \"durationSeconds\": " + String.format("%.1f", elapsed) + ",\n" +
+                "  \"polls\": " + polls.length + ",\n" +
+                "  \"pollsPerSecond\": " + String.format("%.1f", (polls.length - pollsBefore) / elapsed) + ",\n" +
+                "  \"pollErrors\": " + pollErrors.get() + ",\n" +
+                "  \"pollLatencyMicros\": " + percentiles(polls) + ",\n" +
+                "  \"controls\": " + controls.length + ",\n" +
+                "  \"controlErrors\": " + controlErrors.get() + ",\n" +
+                "  \"controlLatencyMicros\": " + percentiles(controls) + ",\n" +
+                "  \"heapPerDeviceBytes\": " + deviceHeap / Math.max(1, deviceCount) + ",\n" +
+                "  \"threadsAddedByDevices\": " + deviceThreads + ",\n" +
+                "  \"liveThreads\": " + threads.getThreadCount() + ",\n" +
+                "  \"peakThreads\": " + peakThreads + ",\n" +
+                "  \"simulatorConnections\": " + simulator.getConnectionCount() + "\n" +
+                "}\n";
+
+        for (SamsungMDCDevice device : devices) {
+            device.destroy();
+        }
+        simulator.close();
+
+        System.out.print(json);
+        writeReport(json);
+    }
+
+    /**
+     * This method is used to poll the statistics of a device and record the latency
+     * @param device This is the device to poll
+     */
+    private void poll(SamsungMDCDevice device) {
+        long start = System.nanoTime();
+        try {
+            device.getMultipleStatistics();
+            pollLatencies.add((System.nanoTime() - start) / 1000);
+        } catch (Exception e) {
+            pollErrors.incrementAndGet();
+        }
+    }
+
+    /**
+     * This method is used to switch a device off and back on, recording the latency of each control
+     * @param device This is the device to control
+     */
+    private void togglePower(SamsungMDCDevice device) {
+        for (powerStatusNames power : new powerStatusNames[]{powerStatusNames.OFF, powerStatusNames.ON}) {
+            ControllableProperty controllableProperty = new ControllableProperty();
+            controllableProperty.setProperty(commandNames.power.name());
+            controllableProperty.setValue(power == powerStatusNames.ON ? "1" : "0");
+            long start = System.nanoTime();
+            try {
+                device.controlProperty(controllableProperty);
+                controlLatencies.add((System.nanoTime() - start) / 1000);
+            } catch (Exception e) {
+                controlErrors.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * This method is used to get the heap in use after garbage collection
+     * @return long This returns the used heap in bytes
+     * @throws InterruptedException if interrupted while waiting for the collection
+     */
+    private long usedHeap() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * This method is used to format the percentiles of sorted latencies as JSON
+     * @param sorted This is the list of sorted latencies
+     * @return String This returns the JSON object
+     */
+    private static String percentiles(long[] sorted) {
+        if (sorted.length == 0) {
+            return "null";
+        }
+        return "{\"p50\": " + percentile(sorted, 50) + ", \"p90\": " + percentile(sorted, 90) +
+                ", \"p99\": " + percentile(sorted, 99) + ", \"max\": " + sorted[sorted.length - 1] + "}";
+    }
+
+    /**
+     * This method is used to get a percentile of sorted values (nearest rank)
+     * @param sorted This is the list of sorted values
+     * @param percentile This is the percentile
+     * @return long This returns the value at the percentile
+     */
+    private static long percentile(long[] sorted, int percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    /**
+     * This method is used to write the report to {@link #report}
+     * @param json This is the report
+     * @throws IOException if the file can't be written
+     */
+    private void writeReport(String json) throws IOException {
+        File file = new File(report);
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        try (PrintWriter writer = new PrintWriter(file, "UTF-8")) {
+            writer.print(json);
+        }
+    }
+}
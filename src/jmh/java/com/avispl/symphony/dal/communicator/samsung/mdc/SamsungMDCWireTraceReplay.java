@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.communicator.samsung.mdc;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static com.avispl.symphony.dal.communicator.samsung.mdc.SamsungMDCConstants.*;
+
+/**
+ * Replay of a wire trace dumped by {@link SamsungMDCDevice#dumpWireTrace(String)}: the received bytes are fed to
+ * {@link SamsungMDCFrameDecoder} as the adapter did, and every record is printed with the frames decoded from it.
+ * With {@code -Diterations=N} the received bytes are replayed N times without printing, and the decoder throughput is reported.
+ */
+public class SamsungMDCWireTraceReplay {
+
+    /**
+     * One record of the dump
+     */
+    private static class Record {
+        private final long time;
+        private final byte type;
+        private final byte[] bytes;
+
+        Record(long time, byte type, byte[] bytes) {
+            this.time = time;
+            this.type = type;
+            this.bytes = bytes;
+        }
+    }
+
+    private final List<Record> records = new ArrayList<>();
+    private long dumpTime;
+    private long dumpNanoTime;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 1) {
+            System.err.println("usage: SamsungMDCWireTraceReplay <dump file> [-Diterations=N]");
+            System.exit(1);
+        }
+        SamsungMDCWireTraceReplay replay = new SamsungMDCWireTraceReplay();
+        replay.read(args[0]);
+
+        int iterations = Integer.getInteger("iterations", 0);
+        if (iterations > 0) {
+            replay.benchmark(iterations);
+        } else {
+            replay.print();
+        }
+    }
+
+    /**
+     * This method is used to read the records of a dump file
+     * @param path This is the path of the dump file
+     * @throws IOException if the file cannot be read or is not a wire trace dump
+     */
+    private void read(String path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(path)))) {
+            if (in.readInt() != SamsungMDCWireTrace.MAGIC || in.readByte() != SamsungMDCWireTrace.VERSION) {
+                throw new IOException("Not a wire trace dump: " + path);
+            }
+            dumpTime = in.readLong();
+            dumpNanoTime = in.readLong();
+
+            while (true) {
+                long time;
+                try {
+                    time = in.readLong();
+                } catch (EOFException e) {
+                    break;
+                }
+                byte type = in.readByte();
+                byte[] bytes = new byte[in.readUnsignedShort()];
+                in.readFully(bytes);
+                records.add(new Record(time, type, bytes));
+            }
+        }
+    }
+
+    /**
+     * This method is used to print every record, with the frames decoded from the received bytes
+     * @throws IOException if a record cannot be formatted
+     */
+    private void print() throws IOException {
+        SamsungMDCFrameDecoder decoder = new SamsungMDCFrameDecoder();
+        SamsungMDCFrame frame = new SamsungMDCFrame();
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+        long previous = records.isEmpty() ? 0 : records.get(0).time;
+
+        for (Record record : records) {
+            String time = format.format(new Date(dumpTime - (dumpNanoTime - record.time) / 1000000));
+            String delta = String.format("+%.3fms", (record.time - previous) / 1e6);
+            previous = record.time;
+
+            switch (record.type) {
+                case SamsungMDCWireTrace.TX:
+                    System.out.println(time + " " + delta + " TX " + SamsungMDCUtils.getHexByteString(record.bytes));
+                    break;
+                case SamsungMDCWireTrace.RX:
+                    System.out.println(time + " " + delta + " RX " + SamsungMDCUtils.getHexByteString(record.bytes));
+                    decoder.feed(record.bytes);
+                    while (decoder.next(frame)) {
+                        System.out.println("    " + describe(frame));
+                    }
+                    if (decoder.hasPartialFrame()) {
+                        System.out.println("    partial frame, waiting for the next bytes");
+                    }
+                    break;
+                default:
+                    System.out.println(time + " " + delta + " CLOSE");
+                    decoder.reset();
+                    break;
+            }
+        }
+        System.out.println(records.size() + " records, " + decoder.getChecksumErrors() + " checksum errors");
+    }
+
+    /**
+     * This method is used to replay the received bytes through the decoder and report its throughput
+     * @param iterations This is the number of times the records are replayed
+     */
+    private void benchmark(int iterations) {
+        SamsungMDCFrameDecoder decoder = new SamsungMDCFrameDecoder();
+        SamsungMDCFrame frame = new SamsungMDCFrame();
+        long frames = 0;
+        long bytes = 0;
+        long start = 0;
+
+        //first pass warms the decoder up and is not measured
+        for (int i = 0; i <= iterations; i++) {
+            if (i == 1) {
+                frames = 0;
+                bytes = 0;
+                start = System.nanoTime();
+            }
+            for (Record record : records) {
+                if (record.type == SamsungMDCWireTrace.RX) {
+                    decoder.feed(record.bytes);
+                    bytes += record.bytes.length;
+                    while (decoder.next(frame)) {
+                        frames++;
+                    }
+                } else if (record.type == SamsungMDCWireTrace.CLOSE) {
+                    decoder.reset();
+                }
+            }
+            decoder.reset();
+        }
+        long elapsed = Math.max(1, System.nanoTime() - start);
+        System.out.println(iterations + " iterations: " + frames + " frames, " + bytes + " bytes in " + elapsed / 1000000 + "ms, "
+                + String.format("%.1f ns/frame, %.1f MB/s", (double) elapsed / Math.max(1, frames), bytes * 1e3 / elapsed));
+    }
+
+    /**
+     * This method is used to describe a decoded frame
+     * @param frame This is the frame
+     * @return String This returns the monitor ID, ACK or NAK, command and values of the frame
+     */
+    private static String describe(SamsungMDCFrame frame) {
+        commandNames command = SamsungMDCCommand.byCode(frame.getCommand());
+        StringBuilder values = new StringBuilder();
+        for (int i = 0; i < frame.getValueCount(); i++) {
+            values.append(i > 0 ? "," : "").append(String.format("%02X", frame.getValue(i)));
+        }
+        return "monitor " + frame.getMonitorID() + " " + (frame.isAck() ? "ACK " : "NAK ")
+                + (command != null ? command.name() : String.format("0x%02X", frame.getCommand()))
+                + " [" + values + "]" + (frame.isChecksumValid() ? "" : " bad checksum");
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.communicator.samsung.mdc;
+
+import java.util.Map;
+import java.util.function.Function;
+
+import static com.avispl.symphony.dal.communicator.samsung.mdc.SamsungMDCConstants.*;
+import static com.avispl.symphony.dal.communicator.samsung.mdc.SamsungMDCField.enumField;
+import static com.avispl.symphony.dal.communicator.samsung.mdc.SamsungMDCField.labelField;
+import static com.avispl.symphony.dal.communicator.samsung.mdc.SamsungMDCField.numberField;
+import static com.avispl.symphony.dal.communicator.samsung.mdc.SamsungMDCField.textField;
+
+/**
+ * Registry of the MDC commands: HEX code, layout of the response values, handling of a NAK and, for responses
+ * carrying several values, how they are combined into a single result. Responses are decoded by a lookup of the
+ * command, then of each field value, so adding a property only takes a registry entry.
+ */
+class SamsungMDCCommand {
+    private static final SamsungMDCCommand[] REGISTRY = new SamsungMDCCommand[commandNames.values().length];
+    //commands indexed by unsigned HEX code
+    private static final commandNames[] BY_CODE = new commandNames[256];
+
+    static {
+        register(commandNames.power, 0x11, nakNames.FAIL, enumField(commandNames.power.name(), 0, powerStatusByCode));
+        register(commandNames.input, 0x14, nakNames.VALUE, enumField(commandNames.input.name(), 0, inputsByCode));
+
+        //data: lamp, temperature code, brightness sensor, no sync, current temperature, fan
+        SamsungMDCField[] status = {
+                enumField(name(statusNames.lamp), 0, statusCodesByCode),
+                enumField(name(statusNames.temperature_code), 1, statusCodesByCode),
+                enumField(name(statusNames.brightness_sensor), 2, statusCodesByCode),
+                enumField(name(statusNames.sync), 3, statusCodesByCode),
+                numberField(name(statusNames.temperature), 4),
+                enumField(name(statusNames.fan), 5, statusCodesByCode)};
+        register(commandNames.status, 0x0D, nakNames.FAIL, frame -> SamsungMDCStatus.of(
+                (statusCodeNames) status[0].decode(frame), (statusCodeNames) status[1].decode(frame),
+                (statusCodeNames) status[2].decode(frame), (statusCodeNames) status[3].decode(frame),
+                (statusCodeNames) status[5].decode(frame), status[4].getValue(frame)), status);
+
+        //data: power, volume, mute, input, aspect, N time NF, F time NF
+        SamsungMDCField[] displayStatus = {
+                enumField(commandNames.power.name(), 0, powerStatusByCode),
+                numberField(name(displayStatusNames.volume), 1),
+                enumField(name(displayStatusNames.mute), 2, muteStatusByCode),
+                enumField(commandNames.input.name(), 3, inputsByCode)};
+        register(commandNames.displayStatus, 0x00, nakNames.UNSUPPORTED, frame -> new SamsungMDCDisplayStatus(
+                (powerStatusNames) displayStatus[0].decode(frame), displayStatus[1].getValue(frame) & 0xFF,
+                (muteStatusNames) displayStatus[2].decode(frame), (inputNames) displayStatus[3].decode(frame)), displayStatus);
+
+        register(commandNames.serialNumber, 0x0B, nakNames.ABSENT, textField(name(identityNames.serial_number), 0));
+        register(commandNames.softwareVersion, 0x0E, nakNames.ABSENT, textField(name(identityNames.software_version), 0));
+        register(commandNames.modelName, 0x8A, nakNames.ABSENT, textField(name(identityNames.model_name), 0));
+        //data: model species, model code, TV support
+        register(commandNames.modelCode, 0x10, nakNames.ABSENT, numberField(name(identityNames.model_code), 1));
+
+        register(commandNames.volume, 0x12, nakNames.UNSUPPORTED, numberField(name(telemetryNames.volume), 0));
+        register(commandNames.mute, 0x13, nakNames.UNSUPPORTED, labelField(name(telemetryNames.mute), 0, muteStatusByCode));
+        register(commandNames.brightness, 0x25, nakNames.UNSUPPORTED, numberField(name(telemetryNames.brightness), 0));
+        register(commandNames.pictureMode, 0x18, nakNames.UNSUPPORTED, labelField(name(telemetryNames.picture_mode), 0, pictureModesByCode));
+    }
+
+    private final commandNames name;
+    private final byte code;
+    private final nakNames nak;
+    private final SamsungMDCField[] fields;
+    //combines the field values of a response, null when the response carries a single field
+    private final Function<SamsungMDCFrame, Object> composite;
+
+    private SamsungMDCCommand(commandNames name, byte code, nakNames nak, Function<SamsungMDCFrame, Object> composite, SamsungMDCField[] fields){
+        this.name = name;
+        this.code = code;
+        this.nak = nak;
+        this.composite = composite;
+        this.fields = fields;
+    }
+
+    /**
+     * This method is used to add a command answered by a single value to the registry
+     * @param name This is the command
+     * @param code This is the HEX code of the command
+     * @param nak This is the handling of a NAK response
+     * @param field This is the response value
+     */
+    private static void register(commandNames name, int code, nakNames nak, SamsungMDCField field) {
+        register(name, code, nak, null, field);
+    }
+
+    /**
+     * This method is used to add a command to the registry
+     * @param name This is the command
+     * @param code This is the HEX code of the command
+     * @param nak This is the handling of a NAK response
+     * @param composite This is the function combining the response values, null for a single value
+     * @param fields This is the layout of the response values
+     */
+    private static void register(commandNames name, int code, nakNames nak, Function<SamsungMDCFrame, Object> composite, SamsungMDCField... fields) {
+        REGISTRY[name.ordinal()] = new SamsungMDCCommand(name, (byte) code, nak, composite, fields);
+        BY_CODE[code & 0xFF] = name;
+    }
+
+    /**
+     * This method is used to get the statistic name of a property
+     * @param property This is the property
+     * @return String This returns the name with spaces instead of underscores
+     */
+    private static String name(Enum<?> property) {
+        return property.name().replace('_', ' ');
+    }
+
+    /**
+     * This method is used to get the registry entry of a command
+     * @param name This is the command
+     * @return SamsungMDCCommand This returns the registry entry
+     */
+    static SamsungMDCCommand of(commandNames name) {
+        return REGISTRY[name.ordinal()];
+    }
+
+    /**
+     * This method is used to get the command of a HEX code received from the display
+     * @param code This is the HEX code
+     * @return commandNames This returns the command, null if the code is not in the registry
+     */
+    static commandNames byCode(byte code) {
+        return BY_CODE[code & 0xFF];
+    }
+
+    commandNames getName() {
+        return name;
+    }
+
+    byte getCode() {
+        return code;
+    }
+
+    nakNames getNak() {
+        return nak;
+    }
+
+    /**
+     * This method is used to decode the values of a response frame
+     * @param frame This is the response frame
+     * @return Object This returns the combined result for composite responses, the decoded field otherwise.
+     */
+    Object decode(SamsungMDCFrame frame) {
+        return composite != null ? composite.apply(frame) : fields[0].decode(frame);
+    }
+
+    /**
+     * This method is used to add the value of a single field command to the statistics
+     * @param statistics This is the map of statistics to be filled
+     * @param group This is the prefix of the monitor properties, empty when a single monitor is polled
+     * @param value This is the decoded value, as returned by {@link #decode(SamsungMDCFrame)}
+     * @return String This returns the name of the statistic, null if there is no value
+     */
+    String putStatistics(Map<String, String> statistics, String group, Object value) {
+        if (value == null) {
+            return null;
+        }
+        String name = group + fields[0].getName();
+        statistics.put(name, value instanceof Enum ? ((Enum<?>) value).name() : value.toString());
+        return name;
+    }
+}
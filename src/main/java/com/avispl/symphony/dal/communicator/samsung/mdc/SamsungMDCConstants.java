@@ -3,53 +3,139 @@
  */
 package com.avispl.symphony.dal.communicator.samsung.mdc;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.function.ToIntFunction;
 
 class SamsungMDCConstants {
 
-    //Power status values
-    enum powerStatusNames {ON,OFF}
-    //Power HEX codes map
-    final static Map<powerStatusNames,Byte> powerStatus = new HashMap<powerStatusNames,Byte>(){{
-        put(powerStatusNames.ON, (byte)0x01);
-        put(powerStatusNames.OFF, (byte)0x00);
-    }};
-
-    //Device commands
-    enum commandNames{power,input,status}
-    //Commands HEX values map
-    final static Map<commandNames, Byte> commands = new HashMap<commandNames,Byte>(){{
-        put(commandNames.power, (byte)0x11);
-        put(commandNames.input, (byte)0x14);
-        put(commandNames.status, (byte)0x0D);
-    }};
-
-    //Input values
-    enum inputNames {OFF,HDMI_1,HDMI_2,PC,DVI,DVI_VIDEO,COMPONENT,RF,DTV,DISPLAYPORT,MAGIC_INFO}
-    //Inputs HEX values map
-    final static Map<inputNames, Byte> inputs = new HashMap<inputNames, Byte>() {{
-        put(inputNames.OFF, (byte)0x01);
-        put(inputNames.HDMI_1, (byte)0x21);
-        put(inputNames.HDMI_2, (byte)0x23);
-        put(inputNames.PC, (byte)0x15);
-        put(inputNames.DVI, (byte)0x18);
-        put(inputNames.DVI_VIDEO, (byte)0x1F);
-        put(inputNames.COMPONENT, (byte)0x08);
-        put(inputNames.RF, (byte)0x30);
-        put(inputNames.DTV, (byte)0x40);
-        put(inputNames.DISPLAYPORT, (byte)0x25);
-        put(inputNames.MAGIC_INFO, (byte)0x20);
-    }};
-
-    //status codes values
-    enum statusCodeNames{NORMAL,ERROR,UNKNOWN}
-    //status codes HEX balues map
-    final static Map<Byte,statusCodeNames> statusCodes = new HashMap<Byte,statusCodeNames>(){{
-       put((byte)0x00,statusCodeNames.NORMAL);
-       put((byte)0x01,statusCodeNames.ERROR);
-        put((byte)0x02,statusCodeNames.UNKNOWN);
-    }};
+    //Power status values and HEX codes
+    enum powerStatusNames {
+        ON(0x01),OFF(0x00);
+
+        final byte code;
+
+        powerStatusNames(int code){
+            this.code = (byte) code;
+        }
+    }
+
+    //Device commands, their HEX codes and response layouts are declared in SamsungMDCCommand
+    enum commandNames{power,input,status,displayStatus,serialNumber,softwareVersion,modelName,modelCode,
+        volume,mute,brightness,pictureMode}
+
+    //Input values and HEX codes
+    enum inputNames {
+        OFF(0x01),HDMI_1(0x21),HDMI_2(0x23),PC(0x15),DVI(0x18),DVI_VIDEO(0x1F),COMPONENT(0x08),RF(0x30),DTV(0x40),
+        DISPLAYPORT(0x25),MAGIC_INFO(0x20);
+
+        final byte code;
+
+        inputNames(int code){
+            this.code = (byte) code;
+        }
+    }
+
+    //status codes values and HEX codes
+    enum statusCodeNames{
+        NORMAL(0x00),ERROR(0x01),UNKNOWN(0x02);
+
+        final byte code;
+
+        statusCodeNames(int code){
+            this.code = (byte) code;
+        }
+    }
 
     enum statusNames{lamp,temperature_code,brightness_sensor,sync,temperature,fan}
+
+    //Mute status values and HEX codes
+    enum muteStatusNames {
+        ON(0x01),OFF(0x00);
+
+        final byte code;
+
+        muteStatusNames(int code){
+            this.code = (byte) code;
+        }
+    }
+
+    //Picture mode values and HEX codes
+    enum pictureModeNames {
+        DYNAMIC(0x00),STANDARD(0x01),MOVIE(0x02),CUSTOM(0x03),NATURAL(0x04),CALIBRATION(0x05),ENTERTAIN(0x10),
+        INTERNET(0x11),TEXT(0x12),CUSTOM_PC(0x13),ADVERTISEMENT(0x14),INFORMATION(0x15),CALIBRATION_PC(0x16);
+
+        final byte code;
+
+        pictureModeNames(int code){
+            this.code = (byte) code;
+        }
+    }
+
+    //Properties only available through the display status command
+    enum displayStatusNames{volume,mute}
+
+    //Telemetry properties, polled when listed in the telemetryCommands adapter property
+    enum telemetryNames{volume,mute,brightness,picture_mode}
+
+    //Decoding of a response value: table value, table value name, unsigned decimal number or ASCII text
+    enum fieldTypeNames{ENUM,LABEL,NUMBER,TEXT}
+
+    //Handling of a NAK response: the command failed, the display does not support it (UnsupportedOperationException),
+    //the values are decoded as for an ACK, or the value is unknown (null)
+    enum nakNames{FAIL,UNSUPPORTED,VALUE,ABSENT}
+
+    //Static identity of a display, read once per connection
+    enum identityNames{serial_number,software_version,model_name,model_code}
+
+    //Power transition states, WARMING lasts from the power ON ACK until the display answers again
+    enum powerStateNames{OFF,WARMING,ON}
+
+    //Statistics computed by the adapter rather than read from a single command
+    enum adapterStatisticNames{power_state,cache_age,refresh_latency,connection_state,ping_latency,stale_commands,standby}
+
+    //Connection states: open, closed and free to reconnect, closed and waiting for the reconnect backoff to expire,
+    //or not attempted as the host does not answer ICMP pings
+    enum connectionStateNames{CONNECTED,DISCONNECTED,BACKOFF,UNREACHABLE}
+
+    //Adapter health metrics, reported under the AdapterMetrics group when enabled
+    final static String ADAPTER_METRICS_GROUP = "AdapterMetrics#";
+    enum adapterMetricNames{control,timeouts,naks,checksum_errors,reconnects}
+
+    //Poll modes: one round trip per command, all poll commands written at once, or display status (0x00) based
+    enum pollModeNames{SEQUENTIAL,PIPELINED,DISPLAY_STATUS}
+
+    //Monitor ID executed by every display of a daisy chain, none of them answers it
+    final static int BROADCAST_MONITOR_ID = 0xFE;
+    //Properties of each monitor are grouped as "Monitor <ID>#<property>" when several monitor IDs are polled
+    final static String MONITOR_GROUP = "Monitor ";
+    //Controls of a configured group of monitor IDs are named "Group <name>#<property>"
+    final static String CONTROL_GROUP = "Group ";
+
+    //Outcome of the last group or broadcast control, reported under the GroupControl group
+    final static String GROUP_CONTROL_GROUP = "GroupControl#";
+    enum groupControlNames{control,confirmed,duration}
+    //Verification result of each member: not verified yet, in the requested state, in another state, not answering,
+    //or the control itself was rejected
+    enum groupMemberStatusNames{PENDING,OK,MISMATCH,NO_RESPONSE,FAILED}
+
+    //Reverse lookup tables indexed by the unsigned HEX code received from the display
+    final static powerStatusNames[] powerStatusByCode = byCode(powerStatusNames.values(), value -> value.code);
+    final static inputNames[] inputsByCode = byCode(inputNames.values(), value -> value.code);
+    final static muteStatusNames[] muteStatusByCode = byCode(muteStatusNames.values(), value -> value.code);
+    final static statusCodeNames[] statusCodesByCode = byCode(statusCodeNames.values(), value -> value.code);
+    final static pictureModeNames[] pictureModesByCode = byCode(pictureModeNames.values(), value -> value.code);
+
+    /**
+     * This method is used to build a 256 entries lookup table from values and their HEX codes
+     * @param values This is the array of values
+     * @param code This is the HEX code of a value
+     * @return T[] This returns the table of values indexed by unsigned HEX code
+     */
+    static <T> T[] byCode(T[] values, ToIntFunction<T> code) {
+        T[] table = Arrays.copyOf(Arrays.copyOf(values, 0), 256);
+        for (T value : values) {
+            table[code.applyAsInt(value) & 0xFF] = value;
+        }
+        return table;
+    }
 }
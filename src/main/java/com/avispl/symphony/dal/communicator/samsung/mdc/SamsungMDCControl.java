@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.communicator.samsung.mdc;
+
+import java.util.concurrent.CompletableFuture;
+
+import static com.avispl.symphony.dal.communicator.samsung.mdc.SamsungMDCConstants.commandNames;
+
+/**
+ * Control waiting in the device command queue. A later control of the same command and monitor ID replaces its value,
+ * and every caller waiting on it is notified once the value actually sent is acknowledged.
+ */
+class SamsungMDCControl {
+    private final int monitorID;
+    private final commandNames command;
+    private volatile byte value;
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+    SamsungMDCControl(int monitorID, commandNames command, byte value){
+        this.monitorID = monitorID;
+        this.command = command;
+        this.value = value;
+    }
+
+    /**
+     * Retrieves {@link #monitorID}, {@link SamsungMDCConstants#BROADCAST_MONITOR_ID} for a control of every display of the chain
+     *
+     * @return value of {@link #monitorID}
+     */
+    int getMonitorID() {
+        return monitorID;
+    }
+
+    commandNames getCommand() {
+        return command;
+    }
+
+    byte getValue() {
+        return value;
+    }
+
+    /**
+     * Sets {@link #value}, last writer wins while the control is still queued
+     *
+     * @param value new value of {@link #value}
+     */
+    void setValue(byte value) {
+        this.value = value;
+    }
+
+    CompletableFuture<Void> getDone() {
+        return done;
+    }
+}
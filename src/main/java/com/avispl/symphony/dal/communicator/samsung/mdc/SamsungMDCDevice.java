@@ -4,6 +4,7 @@
 package com.avispl.symphony.dal.communicator.samsung.mdc;
 
 import com.avispl.symphony.api.dal.control.Controller;
+import com.avispl.symphony.api.dal.dto.control.ConnectionState;
 import com.avispl.symphony.api.dal.dto.control.ControllableProperty;
 import com.avispl.symphony.api.dal.dto.monitor.ExtendedStatistics;
 import com.avispl.symphony.api.dal.dto.monitor.Statistics;
@@ -11,14 +12,164 @@ import com.avispl.symphony.api.dal.monitor.Monitorable;
 import com.avispl.symphony.dal.communicator.SocketCommunicator;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static com.avispl.symphony.dal.communicator.samsung.mdc.SamsungMDCConstants.*;
 
 public class SamsungMDCDevice extends SocketCommunicator implements Controller, Monitorable {
 
-    private int monitorID;
-    private Set<String> historicalProperties = new HashSet<>();
+    //extra reads allowed to complete a response split over several TCP segments
+    private static final int MAX_PARTIAL_READS = 3;
+    //commands written together by the pipelined poll modes
+    private static final Set<commandNames> PIPELINED_POLL = Collections.unmodifiableSet(EnumSet.of(commandNames.power, commandNames.status, commandNames.input));
+    //optional single value commands, polled when listed in telemetryCommands
+    private static final Set<commandNames> TELEMETRY = Collections.unmodifiableSet(EnumSet.of(commandNames.volume,
+            commandNames.mute, commandNames.brightness, commandNames.pictureMode));
+    //static identity commands, read once per connection
+    private static final Set<commandNames> IDENTITY_POLL = Collections.unmodifiableSet(EnumSet.of(commandNames.serialNumber,
+            commandNames.softwareVersion, commandNames.modelName, commandNames.modelCode));
+    //input values accepted by input controls, OFF only reports a display without an active source
+    private static final Set<inputNames> CONTROLLABLE_INPUTS = Collections.unmodifiableSet(EnumSet.complementOf(EnumSet.of(inputNames.OFF)));
+    //longest delay between two warm up probes
+    private static final long MAX_WARMUP_PROBE_INTERVAL = 5000;
+    //members of a group control verified per write, so that a large group is read in several short bursts
+    private static final int VERIFY_BATCH = 16;
+
+    //shared by all adapters for warm up probes and background statistics refreshes
+    private static final ScheduledExecutorService backgroundExecutor = Executors.newScheduledThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()), runnable -> {
+                Thread thread = new Thread(runnable, "SamsungMDC background");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    //runs the asynchronous API: virtual threads when the runtime has them, otherwise a small pool shared by all adapters
+    private static final ExecutorService asyncExecutor = createAsyncExecutor();
+
+    //last ICMP reachability check of each host, shared by the adapters of displays on the same host
+    private static final Map<String, SamsungMDCPingResult> pingResults = new ConcurrentHashMap<>();
+
+    //every exchange with the display holds this lock, queued controls are sent first by whichever thread takes it
+    private final ReentrantLock ioLock = new ReentrantLock();
+    //controls waiting to be sent, keyed by monitor ID and command so that repeated controls coalesce
+    private final Map<Integer, SamsungMDCControl> pendingControls = new LinkedHashMap<>();
+
+    private final SamsungMDCFrameDecoder decoder = new SamsungMDCFrameDecoder();
+    //sends the cached request frames as they are, the SocketCommunicator only writes them
+    private final SamsungMDCFrameCache.FrameWriter<byte[]> frameSender = this::send;
+    //frame the decoder fills, guarded by the I/O lock
+    private final SamsungMDCFrame frame = new SamsungMDCFrame();
+
+    //the display the adapter connects to, which warms up after power ON, and every monitor ID polled through it
+    private volatile SamsungMDCMonitor monitor;
+    private volatile List<SamsungMDCMonitor> monitors;
+    private String monitorIDs = "";
+    //configured groups of monitor IDs controlled together, by group name
+    private volatile Map<String, List<Integer>> monitorGroups = Collections.emptyMap();
+    private String monitorGroupsConfig = "";
+    private long groupVerifyDelay = 3000;
+    private volatile SamsungMDCGroupControlReport groupControlReport;
+    //time in ms a control waits to be sent and acknowledged before it fails with a TimeoutException
+    private long controlTimeout = 10000;
+    //controllable properties of the current monitor IDs and groups, rebuilt only when those change
+    private volatile Map<String, String> controllable;
+    //statistics of the last poll, returned again while the polled state does not change
+    private volatile SamsungMDCResult lastResult;
+    private volatile Set<String> historicalProperties = Collections.emptySet();
+    private final SamsungMDCHistory history = new SamsungMDCHistory();
+    private pollModeNames pollMode = pollModeNames.SEQUENTIAL;
+    private long warmupProbeInterval = 2000;
+    private long warmupTimeout = 60000;
+
+    private final Object powerTransitionLock = new Object();
+    private volatile powerStateNames powerState;
+    private long warmupStarted;
+    private ScheduledFuture<?> warmupProbe;
+    //incremented by each warm up, a probe still running for a previous one returns without scheduling the next
+    private long warmupGeneration;
+
+    private long statisticsCacheTTL;
+    //held by every poll of the displays, whether or not the statistics are cached, so that the per monitor poll state
+    //and the last result are written by one poll at a time. Taken before the I/O lock, after the snapshot lock.
+    private final Object pollLock = new Object();
+    private final Object snapshotLock = new Object();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile SamsungMDCStatisticsSnapshot snapshot;
+    private volatile Exception refreshError;
+    //number of refreshes so far and the error of the last one, written under the snapshot lock and shared with the
+    //callers that waited for that refresh
+    private volatile long refreshCount;
+    private Exception lastRefreshError;
+
+    private long powerPollInterval;
+    private long statusPollInterval;
+    private long inputPollInterval;
+    //power, status and input followed by the configured telemetry commands
+    private volatile Set<commandNames> polledCommands = PIPELINED_POLL;
+    private long telemetryPollInterval;
+
+    //only power is polled while a monitor is OFF, at least every standbyPollInterval
+    private boolean standbyPolling = true;
+    private long standbyPollInterval = 30000;
+
+    //command timeouts derived from the round trips of each monitor, and total time allowed to one poll, 0 for none
+    private boolean adaptiveTimeouts = true;
+    private long minCommandTimeout = 1000;
+    private long pollBudget;
+    //deadline (System.nanoTime) of the response to the current request, 0 for none, written under the I/O lock: the
+    //command timeout when known, otherwise the end of the poll budget
+    private long readDeadline;
+    //deadline of the send the watchdog may abort, whether it did, and whether the SocketCommunicator retry of the
+    //aborted send was skipped, the latter written under the I/O lock
+    private volatile long abortDeadline;
+    private volatile boolean readAborted;
+    private boolean retrySkipped;
+
+    private final SamsungMDCMetrics metrics = new SamsungMDCMetrics();
+    private boolean adapterMetrics;
+    //true while the SocketCommunicator sends, and while a connection is open, both written under the I/O lock
+    private boolean sending;
+    private volatile boolean channelOpen;
+
+    private long reconnectBackoff = 1000;
+    private long maxReconnectBackoff = 60000;
+    //consecutive failed sends and the time before which no new connection is attempted, written under the I/O lock
+    private int connectionFailures;
+    private volatile long reconnectTime;
+    //set once the display answers again after failed sends, so that commands failing meanwhile are retried right away
+    private volatile boolean reconnected;
+
+    private long healthProbeInterval;
+
+    //incremented whenever the connection is closed, so that the identity of the displays is read again on the next one
+    private volatile long connectionGeneration;
+    private long identityTTL = 86400000;
+    private ScheduledFuture<?> healthProbe;
+    private volatile long lastIoTime;
+
+    private boolean pingPreCheck;
+    private long pingCacheTTL = 5000;
+
+    //bytes exchanged with the display, null when the trace is disabled, written and dumped under the I/O lock
+    private int wireTraceSize = 16384;
+    private SamsungMDCWireTrace wireTrace = new SamsungMDCWireTrace(wireTraceSize);
 
     /**
      * Constructor set the TCP/IP port to be used as well the default monitor ID
@@ -26,182 +177,2198 @@ public class SamsungMDCDevice extends SocketCommunicator implements Controller,
     public SamsungMDCDevice(){
         super();
 
-        this.setPort(1515);
-        this.monitorID = 1;
+        this.setPort(1515);
+        this.setMonitorID(1);
+
+        // set list of command success strings (included at the end of response when command succeeds, typically ending with command prompt)
+        this.setCommandSuccessList(Collections.singletonList("A"));
+        // set list of error response strings (included at the end of response when command fails, typically ending with command prompt)
+        this.setCommandErrorList(Collections.singletonList("ERROR"));
+    }
+
+    /**
+     * Retrieves {@link #historicalProperties}
+     *
+     * @return value of {@link #historicalProperties}
+     */
+    public String getHistoricalProperties() {
+        return String.join(",", this.historicalProperties);
+    }
+
+    /**
+     * Sets {@link #historicalProperties} value
+     *
+     * @param historicalProperties new value of {@link #historicalProperties}
+     */
+    public void setHistoricalProperties(String historicalProperties) {
+        Set<String> properties = new HashSet<>();
+        Arrays.asList(historicalProperties.split(",")).forEach(propertyName -> {
+            if (!propertyName.trim().isEmpty()) {
+                properties.add(propertyName.trim());
+            }
+        });
+        this.historicalProperties = properties;
+    }
+
+    /**
+     * Retrieves the number of samples kept per historical statistic
+     *
+     * @return number of samples kept per historical statistic
+     */
+    public int getHistorySize() {
+        return history.getSize();
+    }
+
+    /**
+     * Sets the number of samples kept per historical statistic, the samples recorded so far are dropped
+     *
+     * @param historySize new number of samples kept per historical statistic
+     */
+    public void setHistorySize(int historySize) {
+        history.setSize(historySize);
+    }
+
+    /**
+     * Retrieves the time in ms summarized by the min, max and avg of each historical statistic
+     *
+     * @return time in ms summarized by the min, max and avg of each historical statistic
+     */
+    public long getHistoryWindow() {
+        return history.getWindow();
+    }
+
+    /**
+     * Sets the time in ms summarized by the min, max and avg of each historical statistic, an unchanged historical
+     * value is sent again once per window
+     *
+     * @param historyWindow new time in ms summarized by the min, max and avg of each historical statistic
+     */
+    public void setHistoryWindow(long historyWindow) {
+        history.setWindow(historyWindow);
+    }
+
+    public int getMonitorID() {
+        return monitor.getMonitorID();
+    }
+
+    public void setMonitorID(int monitorID) {
+        this.monitor = new SamsungMDCMonitor(monitorID);
+        this.monitors = Collections.singletonList(monitor);
+        this.monitorIDs = "";
+        updateControllable();
+    }
+
+    /**
+     * Retrieves {@link #monitorIDs}
+     *
+     * @return value of {@link #monitorIDs}
+     */
+    public String getMonitorIDs() {
+        return monitorIDs;
+    }
+
+    /**
+     * Sets {@link #monitorIDs} value, the IDs of the daisy chained displays polled through the connection, as a list
+     * of IDs and ranges such as "1-4,7". The first ID is the display the adapter connects to, and replaces {@link #getMonitorID()}.
+     *
+     * @param monitorIDs new value of {@link #monitorIDs}
+     */
+    public void setMonitorIDs(String monitorIDs) {
+        if (monitorIDs.trim().isEmpty()) {
+            this.monitors = Collections.singletonList(monitor);
+            this.monitorIDs = "";
+            updateControllable();
+            return;
+        }
+
+        Set<Integer> ids;
+        try {
+            ids = parseMonitorIDs(monitorIDs);
+        } catch (IllegalArgumentException e) {
+            if (this.logger.isWarnEnabled()) {
+                this.logger.warn("Invalid monitor IDs " + monitorIDs + ", keeping " + getMonitorID());
+            }
+            return;
+        }
+
+        List<SamsungMDCMonitor> chain = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            chain.add(new SamsungMDCMonitor(id));
+        }
+        this.monitor = chain.get(0);
+        this.monitors = Collections.unmodifiableList(chain);
+        this.monitorIDs = monitorIDs;
+        updateControllable();
+    }
+
+    /**
+     * Retrieves {@link #monitorGroupsConfig}
+     *
+     * @return value of {@link #monitorGroupsConfig}
+     */
+    public String getMonitorGroups() {
+        return monitorGroupsConfig;
+    }
+
+    /**
+     * Sets {@link #monitorGroups} value, named groups of monitor IDs controlled together through "Group name#property"
+     * controls, such as "wall=1-4;lobby=7,8"
+     *
+     * @param monitorGroups new value of {@link #monitorGroups}
+     */
+    public void setMonitorGroups(String monitorGroups) {
+        Map<String, List<Integer>> groups = new LinkedHashMap<>();
+        try {
+            for (String group : monitorGroups.split(";")) {
+                if (group.trim().isEmpty()) {
+                    continue;
+                }
+                String[] definition = group.split("=");
+                if (definition.length != 2 || definition[0].trim().isEmpty()) {
+                    throw new IllegalArgumentException(group);
+                }
+                groups.put(definition[0].trim(), Collections.unmodifiableList(new ArrayList<>(parseMonitorIDs(definition[1]))));
+            }
+        } catch (IllegalArgumentException e) {
+            if (this.logger.isWarnEnabled()) {
+                this.logger.warn("Invalid monitor groups " + monitorGroups + ", keeping " + this.monitorGroupsConfig);
+            }
+            return;
+        }
+        this.monitorGroups = Collections.unmodifiableMap(groups);
+        this.monitorGroupsConfig = monitorGroups;
+        updateControllable();
+    }
+
+    /**
+     * Retrieves {@link #groupVerifyDelay}
+     *
+     * @return value of {@link #groupVerifyDelay}
+     */
+    public long getGroupVerifyDelay() {
+        return groupVerifyDelay;
+    }
+
+    /**
+     * Sets {@link #groupVerifyDelay} value, the time in ms between a group or broadcast control and the poll verifying
+     * the state of each member
+     *
+     * @param groupVerifyDelay new value of {@link #groupVerifyDelay}
+     */
+    public void setGroupVerifyDelay(long groupVerifyDelay) {
+        this.groupVerifyDelay = groupVerifyDelay;
+    }
+
+    /**
+     * Retrieves {@link #controlTimeout}
+     *
+     * @return value of {@link #controlTimeout}
+     */
+    public long getControlTimeout() {
+        return controlTimeout;
+    }
+
+    /**
+     * Sets {@link #controlTimeout} value, the time in ms a control waits to be sent and acknowledged
+     *
+     * @param controlTimeout new value of {@link #controlTimeout}
+     */
+    public void setControlTimeout(long controlTimeout) {
+        this.controlTimeout = controlTimeout;
+    }
+
+    /**
+     * This method is used to rebuild the controllable properties: power, power of each monitor ID when several are
+     * polled, and power of each group
+     */
+    private void updateControllable() {
+        Map<String, String> properties = new HashMap<>();
+        properties.put(commandNames.power.name(), "Toggle");
+        List<SamsungMDCMonitor> chain = monitors;
+        if (chain.size() > 1) {
+            for (SamsungMDCMonitor chained : chain) {
+                properties.put(groupName(chained) + commandNames.power.name(), "Toggle");
+            }
+        }
+        for (String group : monitorGroups.keySet()) {
+            properties.put(CONTROL_GROUP + group + "#" + commandNames.power.name(), "Toggle");
+        }
+        this.controllable = Collections.unmodifiableMap(properties);
+    }
+
+    /**
+     * This method is used to parse a list of monitor IDs and ranges such as "1-4,7"
+     * @param monitorIDs This is the list of IDs and ranges
+     * @return Set<Integer> This returns the monitor IDs, in order
+     * @throws IllegalArgumentException if an item is not an ID or range of IDs below the broadcast ID
+     */
+    private static Set<Integer> parseMonitorIDs(String monitorIDs) {
+        Set<Integer> ids = new LinkedHashSet<>();
+        for (String item : monitorIDs.split(",")) {
+            String[] range = item.trim().split("-");
+            int first = Integer.parseInt(range[0].trim());
+            int last = range.length > 1 ? Integer.parseInt(range[1].trim()) : first;
+            if (range.length > 2 || first < 0 || last >= BROADCAST_MONITOR_ID || first > last) {
+                throw new IllegalArgumentException(item);
+            }
+            for (int id = first; id <= last; id++) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Retrieves {@link #pollMode}
+     *
+     * @return value of {@link #pollMode}
+     */
+    public String getPollMode() {
+        return pollMode.name();
+    }
+
+    /**
+     * Sets {@link #pollMode} value, SEQUENTIAL sends one command per round trip, PIPELINED
+     * writes the power, status and input requests at once and matches the responses by command byte,
+     * DISPLAY_STATUS takes power, volume, mute and input from the display status command written together with status
+     *
+     * @param pollMode new value of {@link #pollMode}
+     */
+    public void setPollMode(String pollMode) {
+        try {
+            pollModeNames requested = pollModeNames.valueOf(pollMode.trim().toUpperCase());
+            if (requested != this.pollMode) {
+                //a firmware found without display status support is only tried again once the mode changed
+                this.pollMode = requested;
+                for (SamsungMDCMonitor chained : monitors) {
+                    chained.setDisplayStatusSupported(true);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            if (this.logger.isWarnEnabled()) {
+                this.logger.warn("Unknown poll mode " + pollMode + ", keeping " + this.pollMode.name());
+            }
+        }
+    }
+
+    /**
+     * Retrieves {@link #warmupProbeInterval}
+     *
+     * @return value of {@link #warmupProbeInterval}
+     */
+    public long getWarmupProbeInterval() {
+        return warmupProbeInterval;
+    }
+
+    /**
+     * Sets {@link #warmupProbeInterval} value, the delay in ms before the first probe after power ON, doubled after each failed probe
+     *
+     * @param warmupProbeInterval new value of {@link #warmupProbeInterval}
+     */
+    public void setWarmupProbeInterval(long warmupProbeInterval) {
+        this.warmupProbeInterval = warmupProbeInterval;
+    }
+
+    /**
+     * Retrieves {@link #warmupTimeout}
+     *
+     * @return value of {@link #warmupTimeout}
+     */
+    public long getWarmupTimeout() {
+        return warmupTimeout;
+    }
+
+    /**
+     * Sets {@link #warmupTimeout} value, the time in ms after power ON after which probing stops and normal polling resumes
+     *
+     * @param warmupTimeout new value of {@link #warmupTimeout}
+     */
+    public void setWarmupTimeout(long warmupTimeout) {
+        this.warmupTimeout = warmupTimeout;
+    }
+
+    /**
+     * Retrieves {@link #statisticsCacheTTL}
+     *
+     * @return value of {@link #statisticsCacheTTL}
+     */
+    public long getStatisticsCacheTTL() {
+        return statisticsCacheTTL;
+    }
+
+    /**
+     * Sets {@link #statisticsCacheTTL} value, the time in ms during which the last statistics are returned without polling
+     * the display, 0 to poll on every call. Once expired, the last statistics are still returned while a single
+     * background refresh runs.
+     *
+     * @param statisticsCacheTTL new value of {@link #statisticsCacheTTL}
+     */
+    public void setStatisticsCacheTTL(long statisticsCacheTTL) {
+        this.statisticsCacheTTL = statisticsCacheTTL;
+    }
+
+    /**
+     * Retrieves {@link #powerPollInterval}
+     *
+     * @return value of {@link #powerPollInterval}
+     */
+    public long getPowerPollInterval() {
+        return powerPollInterval;
+    }
+
+    /**
+     * Sets {@link #powerPollInterval} value, the minimum time in ms between two power reads, 0 to read it on every poll
+     *
+     * @param powerPollInterval new value of {@link #powerPollInterval}
+     */
+    public void setPowerPollInterval(long powerPollInterval) {
+        this.powerPollInterval = powerPollInterval;
+    }
+
+    /**
+     * Retrieves {@link #statusPollInterval}
+     *
+     * @return value of {@link #statusPollInterval}
+     */
+    public long getStatusPollInterval() {
+        return statusPollInterval;
+    }
+
+    /**
+     * Sets {@link #statusPollInterval} value, the minimum time in ms between two status (lamp, temperature, sync, fan) reads,
+     * 0 to read it on every poll
+     *
+     * @param statusPollInterval new value of {@link #statusPollInterval}
+     */
+    public void setStatusPollInterval(long statusPollInterval) {
+        this.statusPollInterval = statusPollInterval;
+    }
+
+    /**
+     * Retrieves {@link #inputPollInterval}
+     *
+     * @return value of {@link #inputPollInterval}
+     */
+    public long getInputPollInterval() {
+        return inputPollInterval;
+    }
+
+    /**
+     * Sets {@link #inputPollInterval} value, the minimum time in ms between two input reads, 0 to read it on every poll
+     *
+     * @param inputPollInterval new value of {@link #inputPollInterval}
+     */
+    public void setInputPollInterval(long inputPollInterval) {
+        this.inputPollInterval = inputPollInterval;
+    }
+
+    /**
+     * Retrieves the telemetry commands polled along with power, status and input
+     *
+     * @return comma separated list of telemetry commands
+     */
+    public String getTelemetryCommands() {
+        StringBuilder commands = new StringBuilder();
+        for (commandNames command : polledCommands) {
+            if (TELEMETRY.contains(command)) {
+                commands.append(commands.length() > 0 ? "," : "").append(command.name());
+            }
+        }
+        return commands.toString();
+    }
+
+    /**
+     * Sets the telemetry commands polled along with power, status and input: volume, mute, brightness, pictureMode
+     *
+     * @param telemetryCommands comma separated list of telemetry commands, empty to poll none
+     */
+    public void setTelemetryCommands(String telemetryCommands) {
+        Set<commandNames> commands = EnumSet.copyOf(PIPELINED_POLL);
+        for (String name : telemetryCommands.split(",")) {
+            if (name.trim().isEmpty()) {
+                continue;
+            }
+            commandNames command = null;
+            for (commandNames telemetry : TELEMETRY) {
+                if (telemetry.name().equalsIgnoreCase(name.trim())) {
+                    command = telemetry;
+                }
+            }
+            if (command != null) {
+                commands.add(command);
+            } else if (this.logger.isWarnEnabled()) {
+                this.logger.warn("Unknown telemetry command " + name.trim() + ": " + this.host + " port: " + this.getPort());
+            }
+        }
+        this.polledCommands = Collections.unmodifiableSet(commands);
+    }
+
+    /**
+     * Retrieves {@link #telemetryPollInterval}
+     *
+     * @return value of {@link #telemetryPollInterval}
+     */
+    public long getTelemetryPollInterval() {
+        return telemetryPollInterval;
+    }
+
+    /**
+     * Sets {@link #telemetryPollInterval} value, the minimum time in ms between two reads of each telemetry command,
+     * 0 to read them on every poll
+     *
+     * @param telemetryPollInterval new value of {@link #telemetryPollInterval}
+     */
+    public void setTelemetryPollInterval(long telemetryPollInterval) {
+        this.telemetryPollInterval = telemetryPollInterval;
+    }
+
+    /**
+     * Retrieves {@link #standbyPolling}
+     *
+     * @return value of {@link #standbyPolling}
+     */
+    public boolean isStandbyPolling() {
+        return standbyPolling;
+    }
+
+    /**
+     * Sets {@link #standbyPolling} value, true to only poll power while a monitor is OFF and report its other
+     * properties from the last reads
+     *
+     * @param standbyPolling new value of {@link #standbyPolling}
+     */
+    public void setStandbyPolling(boolean standbyPolling) {
+        this.standbyPolling = standbyPolling;
+    }
+
+    /**
+     * Retrieves {@link #standbyPollInterval}
+     *
+     * @return value of {@link #standbyPollInterval}
+     */
+    public long getStandbyPollInterval() {
+        return standbyPollInterval;
+    }
+
+    /**
+     * Sets {@link #standbyPollInterval} value, the minimum time in ms between two power reads of a monitor in standby,
+     * powerPollInterval applies if longer
+     *
+     * @param standbyPollInterval new value of {@link #standbyPollInterval}
+     */
+    public void setStandbyPollInterval(long standbyPollInterval) {
+        this.standbyPollInterval = standbyPollInterval;
+    }
+
+    /**
+     * Retrieves {@link #adaptiveTimeouts}
+     *
+     * @return value of {@link #adaptiveTimeouts}
+     */
+    public boolean isAdaptiveTimeouts() {
+        return adaptiveTimeouts;
+    }
+
+    /**
+     * Sets {@link #adaptiveTimeouts} value, true to wait for the response to a poll command only as long as its smoothed
+     * round trip plus 4 times its mean deviation, instead of the socket timeout
+     *
+     * @param adaptiveTimeouts new value of {@link #adaptiveTimeouts}
+     */
+    public void setAdaptiveTimeouts(boolean adaptiveTimeouts) {
+        this.adaptiveTimeouts = adaptiveTimeouts;
+    }
+
+    /**
+     * Retrieves {@link #minCommandTimeout}
+     *
+     * @return value of {@link #minCommandTimeout}
+     */
+    public long getMinCommandTimeout() {
+        return minCommandTimeout;
+    }
+
+    /**
+     * Sets {@link #minCommandTimeout} value, the shortest adaptive timeout in ms
+     *
+     * @param minCommandTimeout new value of {@link #minCommandTimeout}
+     */
+    public void setMinCommandTimeout(long minCommandTimeout) {
+        this.minCommandTimeout = minCommandTimeout;
+    }
+
+    /**
+     * Retrieves {@link #pollBudget}
+     *
+     * @return value of {@link #pollBudget}
+     */
+    public long getPollBudget() {
+        return pollBudget;
+    }
+
+    /**
+     * Sets {@link #pollBudget} value, the time in ms a poll may spend reading the displays, the commands not sent
+     * by then are reported from their last result, 0 for no limit. A request sent within the budget is read until its
+     * command timeout, or until the end of the budget when no command timeout is known.
+     *
+     * @param pollBudget new value of {@link #pollBudget}
+     */
+    public void setPollBudget(long pollBudget) {
+        this.pollBudget = pollBudget;
+    }
+
+    /**
+     * Retrieves {@link #adapterMetrics}
+     *
+     * @return value of {@link #adapterMetrics}
+     */
+    public boolean isAdapterMetrics() {
+        return adapterMetrics;
+    }
+
+    /**
+     * Sets {@link #adapterMetrics} value, true to report per command latencies and error counters in the AdapterMetrics group
+     *
+     * @param adapterMetrics new value of {@link #adapterMetrics}
+     */
+    public void setAdapterMetrics(boolean adapterMetrics) {
+        this.adapterMetrics = adapterMetrics;
+    }
+
+    /**
+     * Retrieves {@link #reconnectBackoff}
+     *
+     * @return value of {@link #reconnectBackoff}
+     */
+    public long getReconnectBackoff() {
+        return reconnectBackoff;
+    }
+
+    /**
+     * Sets {@link #reconnectBackoff} value, the time in ms during which no connection is attempted after a failed send,
+     * doubled after each consecutive failure and randomized by up to half
+     *
+     * @param reconnectBackoff new value of {@link #reconnectBackoff}
+     */
+    public void setReconnectBackoff(long reconnectBackoff) {
+        this.reconnectBackoff = reconnectBackoff;
+    }
+
+    /**
+     * Retrieves {@link #maxReconnectBackoff}
+     *
+     * @return value of {@link #maxReconnectBackoff}
+     */
+    public long getMaxReconnectBackoff() {
+        return maxReconnectBackoff;
+    }
+
+    /**
+     * Sets {@link #maxReconnectBackoff} value, the longest time in ms without connection attempt
+     *
+     * @param maxReconnectBackoff new value of {@link #maxReconnectBackoff}
+     */
+    public void setMaxReconnectBackoff(long maxReconnectBackoff) {
+        this.maxReconnectBackoff = maxReconnectBackoff;
+    }
+
+    /**
+     * Retrieves {@link #healthProbeInterval}
+     *
+     * @return value of {@link #healthProbeInterval}
+     */
+    public long getHealthProbeInterval() {
+        return healthProbeInterval;
+    }
+
+    /**
+     * Sets {@link #healthProbeInterval} value, the idle time in ms after which the connection is checked with a power request
+     * in the background, 0 to disable
+     *
+     * @param healthProbeInterval new value of {@link #healthProbeInterval}
+     */
+    public void setHealthProbeInterval(long healthProbeInterval) {
+        this.healthProbeInterval = healthProbeInterval;
+    }
+
+    /**
+     * Retrieves {@link #identityTTL}
+     *
+     * @return value of {@link #identityTTL}
+     */
+    public long getIdentityTTL() {
+        return identityTTL;
+    }
+
+    /**
+     * Sets {@link #identityTTL} value, the time in ms after which the identity of a display is read again over the
+     * same connection, it is read again on every new connection anyway
+     *
+     * @param identityTTL new value of {@link #identityTTL}
+     */
+    public void setIdentityTTL(long identityTTL) {
+        this.identityTTL = identityTTL;
+    }
+
+    /**
+     * Retrieves {@link #pingPreCheck}
+     *
+     * @return value of {@link #pingPreCheck}
+     */
+    public boolean isPingPreCheck() {
+        return pingPreCheck;
+    }
+
+    /**
+     * Sets {@link #pingPreCheck} value, true to ping the host before polling and report it unreachable without any
+     * connection attempt if it does not answer
+     *
+     * @param pingPreCheck new value of {@link #pingPreCheck}
+     */
+    public void setPingPreCheck(boolean pingPreCheck) {
+        this.pingPreCheck = pingPreCheck;
+    }
+
+    /**
+     * Retrieves {@link #pingCacheTTL}
+     *
+     * @return value of {@link #pingCacheTTL}
+     */
+    public long getPingCacheTTL() {
+        return pingCacheTTL;
+    }
+
+    /**
+     * Sets {@link #pingCacheTTL} value, the time in ms during which the last ping of a host is reused
+     *
+     * @param pingCacheTTL new value of {@link #pingCacheTTL}
+     */
+    public void setPingCacheTTL(long pingCacheTTL) {
+        this.pingCacheTTL = pingCacheTTL;
+    }
+
+    /**
+     * Retrieves {@link #wireTraceSize}
+     *
+     * @return value of {@link #wireTraceSize}
+     */
+    public int getWireTraceSize() {
+        return wireTraceSize;
+    }
+
+    /**
+     * Sets {@link #wireTraceSize} value, the size in bytes of the buffer recording the bytes exchanged with the display,
+     * 0 to disable the trace. The bytes recorded so far are dropped.
+     *
+     * @param wireTraceSize new value of {@link #wireTraceSize}
+     */
+    public void setWireTraceSize(int wireTraceSize) {
+        ioLock.lock();
+        try {
+            this.wireTraceSize = wireTraceSize;
+            this.wireTrace = wireTraceSize > 0 ? new SamsungMDCWireTrace(wireTraceSize) : null;
+        } finally {
+            ioLock.unlock();
+        }
+    }
+
+    /**
+     * This method is used to write the bytes recently exchanged with the display to a file, to be read back with
+     * the SamsungMDCWireTraceReplay tool
+     * @param path This is the path of the dump file
+     * @return int This returns the number of records written, 0 if the trace is disabled
+     * @throws IOException if the file cannot be written
+     */
+    public int dumpWireTrace(String path) throws IOException {
+        ioLock.lock();
+        try {
+            return wireTrace == null ? 0 : wireTrace.dump(path);
+        } finally {
+            ioLock.unlock();
+        }
+    }
+
+    /**
+     * Starts the idle health probe if enabled
+     */
+    @Override
+    protected void internalInit() throws Exception {
+        super.internalInit();
+
+        if (healthProbeInterval > 0) {
+            healthProbe = backgroundExecutor.scheduleWithFixedDelay(this::probeHealth, healthProbeInterval, healthProbeInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Cancels a running warm up probe before releasing the connection
+     */
+    @Override
+    protected void internalDestroy() {
+        if (healthProbe != null) {
+            healthProbe.cancel(false);
+            healthProbe = null;
+        }
+        synchronized (powerTransitionLock) {
+            if (warmupProbe != null) {
+                warmupProbe.cancel(false);
+                warmupProbe = null;
+            }
+            powerState = null;
+        }
+        snapshot = null;
+        groupControlReport = null;
+        super.internalDestroy();
+    }
+
+    /**
+     * This method is recalled by Symphony to control specific property
+     * @param controllableProperty This is the property to be controled
+     */
+    @Override
+    public void controlProperty(ControllableProperty controllableProperty) throws Exception {
+        List<SamsungMDCControl> controls = enqueueControl(controllableProperty);
+
+        for (SamsungMDCControl control : controls) {
+            awaitControl(control);
+        }
+        reportGroupControl(controllableProperty, controls);
+        rethrowFailure(controls);
+    }
+
+    /**
+     * This method is recalled by Symphony to control a list of properties, queued together so that they go out in one write
+     * @param controllableProperties This is the list of properties to be controlled
+     */
+    @Override
+    public void controlProperties(List<ControllableProperty> controllableProperties) throws Exception {
+        // same as controlProperty(ControllableProperty controllableProperty), but all controls are queued first so that they go out in one write
+        Map<ControllableProperty, List<SamsungMDCControl>> controls = new LinkedHashMap<>();
+        for (ControllableProperty controllableProperty : controllableProperties) {
+            controls.put(controllableProperty, enqueueControl(controllableProperty));
+        }
+        for (Map.Entry<ControllableProperty, List<SamsungMDCControl>> entry : controls.entrySet()) {
+            for (SamsungMDCControl control : entry.getValue()) {
+                awaitControl(control);
+            }
+            reportGroupControl(entry.getKey(), entry.getValue());
+        }
+        //every property is sent and reported before the first failure is thrown
+        for (List<SamsungMDCControl> propertyControls : controls.values()) {
+            rethrowFailure(propertyControls);
+        }
+    }
+
+    /**
+     * This method is used to read the statistics without blocking the caller
+     * @param deadline This is the time in ms after which the future fails with a TimeoutException, 0 for none
+     * @return CompletableFuture<List<Statistics>> This returns the future statistics, as returned by {@link #getMultipleStatistics()}
+     */
+    public CompletableFuture<List<Statistics>> getMultipleStatisticsAsync(long deadline) {
+        return submit("getMultipleStatistics", deadline, expiry -> getMultipleStatistics());
+    }
+
+    /**
+     * This method is used to control a property without blocking the caller
+     * @param controllableProperty This is the property to be controlled
+     * @param deadline This is the time in ms after which the future fails with a TimeoutException, 0 for none
+     * @return CompletableFuture<Void> This returns a future completed once the display acknowledged the control
+     */
+    public CompletableFuture<Void> controlPropertyAsync(ControllableProperty controllableProperty, long deadline) {
+        List<SamsungMDCControl> controls = enqueueControl(controllableProperty);
+        if (controls.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return submit("controlProperty " + controllableProperty.getProperty(), deadline, expiry -> {
+            for (SamsungMDCControl control : controls) {
+                awaitControl(control);
+            }
+            reportGroupControl(controllableProperty, controls);
+            rethrowFailure(controls);
+            return null;
+        });
+    }
+
+    /**
+     * This method is used to read the power status of the display without blocking the caller
+     * @param deadline This is the time in ms after which the future fails with a TimeoutException, 0 for none
+     * @return CompletableFuture<String> This returns the future power status, ON or OFF
+     */
+    public CompletableFuture<String> getPowerAsync(long deadline) {
+        return submit(commandNames.power.name(), deadline, expiry -> callWithin(expiry, () -> getPower(monitor, Collections.emptySet(), 0).name()));
+    }
+
+    /**
+     * This method is used to read the input of the display without blocking the caller
+     * @param deadline This is the time in ms after which the future fails with a TimeoutException, 0 for none
+     * @return CompletableFuture<String> This returns the future input name
+     */
+    public CompletableFuture<String> getInputAsync(long deadline) {
+        return submit(commandNames.input.name(), deadline, expiry -> callWithin(expiry, () -> getInput(monitor, Collections.emptySet(), 0).name()));
+    }
+
+    /**
+     * This method is used to read the lamp, temperature, sync and fan status of the display without blocking the caller
+     * @param deadline This is the time in ms after which the future fails with a TimeoutException, 0 for none
+     * @return CompletableFuture<SamsungMDCStatus> This returns the future status
+     */
+    public CompletableFuture<SamsungMDCStatus> getStatusAsync(long deadline) {
+        return submit(commandNames.status.name(), deadline, expiry -> callWithin(expiry, () -> getStatus(monitor, Collections.emptySet(), 0)));
+    }
+
+    /**
+     * This method is used to switch the display on or off without blocking the caller
+     * @param on This is true to switch the display on, false to switch it off
+     * @param deadline This is the time in ms after which the future fails with a TimeoutException, 0 for none
+     * @return CompletableFuture<Void> This returns a future completed once the display acknowledged the command
+     */
+    public CompletableFuture<Void> setPowerAsync(boolean on, long deadline) {
+        ControllableProperty controllableProperty = new ControllableProperty();
+        controllableProperty.setProperty(commandNames.power.name());
+        controllableProperty.setValue(on ? "1" : "0");
+        return controlPropertyAsync(controllableProperty, deadline);
+    }
+
+    /**
+     * Asynchronous task body, given the time in ms at which its deadline expires
+     */
+    private interface DeadlineTask<T> {
+        T call(long expiry) throws Exception;
+    }
+
+    /**
+     * This method is used to run a task on {@link #asyncExecutor}, failing its future with a TimeoutException once the deadline
+     * expires. A task still queued when its deadline expires is not run.
+     * @param name This is the name of the task, for the timeout message
+     * @param deadline This is the time in ms after which the future fails, 0 for none
+     * @param task This is the task
+     * @return CompletableFuture<T> This returns the future result of the task
+     */
+    private <T> CompletableFuture<T> submit(String name, long deadline, DeadlineTask<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        long expiry = deadline > 0 ? System.currentTimeMillis() + deadline : Long.MAX_VALUE;
+
+        asyncExecutor.execute(() -> {
+            if (future.isDone()) {
+                return;
+            }
+            try {
+                future.complete(task.call(expiry));
+            } catch (ExecutionException e) {
+                future.completeExceptionally(e.getCause());
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+        });
+
+        if (deadline > 0) {
+            ScheduledFuture<?> timeout = backgroundExecutor.schedule(() -> future.completeExceptionally(
+                    new TimeoutException(name + " did not complete within " + deadline + "ms: " + this.host + " port: " + this.getPort())),
+                    deadline, TimeUnit.MILLISECONDS);
+            future.whenComplete((result, error) -> timeout.cancel(false));
+        }
+        return future;
+    }
+
+    /**
+     * This method is used to run a command once the connection is free, giving up if it is not free before the deadline
+     * @param expiry This is the time in ms at which the deadline expires
+     * @param command This is the command
+     * @return T This returns the result of the command
+     * @throws TimeoutException if the connection stays busy until the deadline
+     */
+    private <T> T callWithin(long expiry, Callable<T> command) throws Exception {
+        long remaining = expiry == Long.MAX_VALUE ? Long.MAX_VALUE : expiry - System.currentTimeMillis();
+        if (!ioLock.tryLock(Math.max(0, remaining), TimeUnit.MILLISECONDS)) {
+            throw new TimeoutException("connection busy until the deadline: " + this.host + " port: " + this.getPort());
+        }
+        try {
+            return command.call();
+        } finally {
+            ioLock.unlock();
+        }
+    }
+
+    /**
+     * This method is used to create the executor of the asynchronous API, a virtual thread per task executor when the runtime
+     * provides one (Java 21+), otherwise a pool of daemon threads sized on the processors
+     * @return ExecutorService This returns the executor
+     */
+    private static ExecutorService createAsyncExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors() * 2), runnable -> {
+                Thread thread = new Thread(runnable, "SamsungMDC async");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * This method is used to queue the control of a property, replacing the value of a queued control of the same property.
+     * When several monitor IDs are polled, "Monitor ID#property" controls one display and a property without group
+     * controls every display of the chain in a single broadcast frame. "Group name#property" controls every member
+     * of a configured group, one frame per member written at once.
+     * @param controllableProperty This is the property to be controlled
+     * @return List<SamsungMDCControl> This returns the queued controls, empty if the property or value is not supported.
+     */
+    private List<SamsungMDCControl> enqueueControl(ControllableProperty controllableProperty) {
+        commandNames command = null;
+        Byte value = null;
+        String property = controllableProperty.getProperty();
+        List<Integer> monitorIDs = Collections.singletonList(monitors.size() > 1 ? BROADCAST_MONITOR_ID : monitor.getMonitorID());
+
+        int group = property.indexOf('#');
+        if (group >= 0 && property.startsWith(MONITOR_GROUP)) {
+            int monitorID = chainedMonitorID(property.substring(MONITOR_GROUP.length(), group));
+            monitorIDs = monitorID >= 0 ? Collections.singletonList(monitorID) : Collections.emptyList();
+            property = property.substring(group + 1);
+        } else if (group >= 0 && property.startsWith(CONTROL_GROUP)) {
+            monitorIDs = monitorGroups.getOrDefault(property.substring(CONTROL_GROUP.length(), group).trim(), Collections.emptyList());
+            property = property.substring(group + 1);
+        }
+
+        String requested = controllableProperty.getValue().toString();
+        if (property.equals(commandNames.power.name())){
+            command = commandNames.power;
+            if(requested.equals("1")){
+                value = powerStatusNames.ON.code;
+            }else if(requested.equals("0")){
+                value = powerStatusNames.OFF.code;
+            }
+        } else if (property.equals(commandNames.input.name())) {
+            command = commandNames.input;
+            for (inputNames input : CONTROLLABLE_INPUTS) {
+                if (input.name().equals(requested)) {
+                    value = input.code;
+                }
+            }
+            if (value == null && this.logger.isWarnEnabled()) {
+                this.logger.warn("Unknown input " + requested + ": " + this.host + " port: " + this.getPort());
+            }
+        }
+
+        if (value == null) {
+            return Collections.emptyList();
+        }
+
+        List<SamsungMDCControl> controls = new ArrayList<>(monitorIDs.size());
+        synchronized (pendingControls) {
+            for (Integer monitorID : monitorIDs) {
+                Integer key = monitorID << 8 | command.ordinal();
+                SamsungMDCControl control = pendingControls.get(key);
+                if (control == null) {
+                    control = new SamsungMDCControl(monitorID, command, value);
+                    pendingControls.put(key, control);
+                } else {
+                    control.setValue(value);
+                }
+                controls.add(control);
+            }
+        }
+        return controls;
+    }
+
+    /**
+     * This method is used to get the monitor ID named by the group of a property
+     * @param name This is the monitor ID as text
+     * @return int This returns the monitor ID, -1 if it is not one of the polled monitor IDs
+     */
+    private int chainedMonitorID(String name) {
+        for (SamsungMDCMonitor chained : monitors) {
+            if (Integer.toString(chained.getMonitorID()).equals(name.trim())) {
+                return chained.getMonitorID();
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * This method is used to start the verification of a control sent to a group of monitor IDs or to the broadcast ID,
+     * whose outcome replaces the GroupControl statistics
+     * @param controllableProperty This is the controlled property
+     * @param controls This is the list of controls the property was sent as
+     */
+    private void reportGroupControl(ControllableProperty controllableProperty, List<SamsungMDCControl> controls) {
+        boolean broadcast = controls.size() == 1 && controls.get(0).getMonitorID() == BROADCAST_MONITOR_ID;
+        if (controls.isEmpty() || !broadcast && !controllableProperty.getProperty().startsWith(CONTROL_GROUP)) {
+            return;
+        }
+
+        List<Integer> memberIDs = new ArrayList<>();
+        if (broadcast) {
+            for (SamsungMDCMonitor chained : monitors) {
+                memberIDs.add(chained.getMonitorID());
+            }
+        } else {
+            for (SamsungMDCControl control : controls) {
+                memberIDs.add(control.getMonitorID());
+            }
+        }
+
+        SamsungMDCControl first = controls.get(0);
+        SamsungMDCGroupControlReport report = new SamsungMDCGroupControlReport(controllableProperty.getProperty() + "=" + controllableProperty.getValue(),
+                first.getCommand(), first.getValue(), memberIDs, System.currentTimeMillis());
+        for (SamsungMDCControl control : controls) {
+            if (control.getDone().isCompletedExceptionally() && control.getMonitorID() != BROADCAST_MONITOR_ID) {
+                report.setResult(control.getMonitorID(), groupMemberStatusNames.FAILED);
+            }
+        }
+
+        groupControlReport = report;
+        scheduleVerification(report);
+    }
+
+    /**
+     * This method is used to schedule the verification poll of a group control
+     * @param report This is the report of the group control
+     */
+    private void scheduleVerification(SamsungMDCGroupControlReport report) {
+        backgroundExecutor.schedule(() -> verifyGroupControl(report), groupVerifyDelay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * This method is used to read the controlled state of every member of a group control, VERIFY_BATCH members per write,
+     * once the display the adapter connects to is out of any warm up
+     * @param report This is the report of the group control
+     */
+    private void verifyGroupControl(SamsungMDCGroupControlReport report) {
+        if (groupControlReport != report) {
+            //a later group control replaced this one
+            return;
+        }
+        if (powerState == powerStateNames.WARMING) {
+            scheduleVerification(report);
+            return;
+        }
+
+        commandNames command = report.getCommand();
+        Set<commandNames> verified = EnumSet.of(command);
+        List<Integer> pending = report.getPendingIDs();
+
+        //the members of the chain share their frame slots with the polls
+        synchronized (pollLock) {
+            ioLock.lock();
+            try {
+                for (int i = 0; i < pending.size(); i += VERIFY_BATCH) {
+                    Map<SamsungMDCMonitor, Set<commandNames>> batches = new LinkedHashMap<>();
+                    for (Integer memberID : pending.subList(i, Math.min(i + VERIFY_BATCH, pending.size()))) {
+                        SamsungMDCMonitor member = chainedMonitor(monitors, memberID);
+                        batches.put(member != null && member.getMonitorID() == memberID ? member : new SamsungMDCMonitor(memberID), verified);
+                    }
+
+                    Map<SamsungMDCMonitor, Set<commandNames>> received = sendPipelined(batches);
+                    for (SamsungMDCMonitor member : batches.keySet()) {
+                        SamsungMDCFrame memberFrame = member.getFrame(command);
+                        if (!received.get(member).contains(command) || !memberFrame.isAck()) {
+                            report.setResult(member.getMonitorID(), groupMemberStatusNames.NO_RESPONSE);
+                        } else {
+                            report.setResult(member.getMonitorID(), memberFrame.getValue(0) == report.getValue()
+                                    ? groupMemberStatusNames.OK : groupMemberStatusNames.MISMATCH);
+                        }
+                    }
+                }
+            } finally {
+                ioLock.unlock();
+            }
+        }
+        report.verified(System.currentTimeMillis());
+    }
+
+    /**
+     * This method is used to wait until a queued control is sent, sending it from the calling thread unless a poll
+     * in progress sends it first. A control not sent and acknowledged within {@link #controlTimeout} is withdrawn from
+     * the queue and fails with a TimeoutException
+     * @param control This is the queued control
+     */
+    private void awaitControl(SamsungMDCControl control) throws InterruptedException {
+        long expiry = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(controlTimeout);
+        while (!control.getDone().isDone()) {
+            //polls holding the lock send the queued controls before each of their requests
+            long remaining = expiry - System.nanoTime();
+            if (remaining > 0 && ioLock.tryLock(remaining, TimeUnit.NANOSECONDS)) {
+                try {
+                    sendControls();
+                } finally {
+                    ioLock.unlock();
+                }
+            } else if (!control.getDone().isDone()) {
+                synchronized (pendingControls) {
+                    pendingControls.remove(control.getMonitorID() << 8 | control.getCommand().ordinal(), control);
+                }
+                control.getDone().completeExceptionally(new TimeoutException(control.getCommand().name() + " control not acknowledged within "
+                        + controlTimeout + " ms"));
+            }
+        }
+    }
+
+    /**
+     * This method is used to throw the failure of the first failed control of a property
+     * @param controls This is the list of controls of the property
+     */
+    private void rethrowFailure(List<SamsungMDCControl> controls) throws Exception {
+        for (SamsungMDCControl control : controls) {
+            try {
+                control.getDone().get();
+            } catch (ExecutionException e) {
+                if (this.logger.isDebugEnabled()) {
+                    this.logger.debug("error during " + control.getCommand().name() + " control send", e.getCause());
+                }
+                throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+            }
+        }
+    }
+
+    /**
+     * This method is used to send every queued control in a single write and digest their responses,
+     * broadcast controls are not answered and complete with the write. It must be called with {@link #ioLock} held.
+     */
+    private void sendControls() {
+        List<SamsungMDCControl> batch;
+        synchronized (pendingControls) {
+            if (pendingControls.isEmpty()) {
+                return;
+            }
+            batch = new ArrayList<>(pendingControls.values());
+            pendingControls.clear();
+        }
+
+        Map<Integer, SamsungMDCControl> waiting = new HashMap<>();
+        List<SamsungMDCControl> broadcast = new ArrayList<>();
+        for (SamsungMDCControl control : batch) {
+            if (control.getMonitorID() == BROADCAST_MONITOR_ID) {
+                broadcast.add(control);
+            } else {
+                waiting.put(control.getMonitorID() << 8 | control.getCommand().ordinal(), control);
+            }
+        }
+
+        //no display answers a broadcast, a power request to the connected display goes first so that the write gets a response
+        boolean echo = waiting.isEmpty();
+        ByteBuffer request = ByteBuffer.allocate(batch.size() * SamsungMDCUtils.sendStringLength(new byte[1]) + SamsungMDCUtils.sendStringLength(null));
+        if (echo) {
+            monitor.getFrameCache().putFrame(request, commandNames.power);
+        }
+        List<SamsungMDCMonitor> chain = monitors;
+        for (SamsungMDCControl control : batch) {
+            SamsungMDCMonitor chained = chainedMonitor(chain, control.getMonitorID());
+            if (chained != null && chained.getMonitorID() == control.getMonitorID()) {
+                chained.getFrameCache().putSetFrame(request, control.getCommand(), control.getValue());
+            } else {
+                //group members outside the chain and the broadcast ID have no cache
+                SamsungMDCUtils.writeSendString(request, (byte) control.getMonitorID(),
+                        SamsungMDCCommand.of(control.getCommand()).getCode(), new byte[]{control.getValue()});
+            }
+        }
+
+        boolean powerOnAcknowledged = false;
+        long start = System.nanoTime();
+        try {
+            decoder.feed(send(Arrays.copyOf(request.array(), request.position())));
+            int reads = 0;
+
+            while (echo || !waiting.isEmpty()) {
+                if (!decoder.next(frame)) {
+                    //keep reading as long as reads keep completing frames
+                    if (reads++ > MAX_PARTIAL_READS) {
+                        throw new RuntimeException("Nor ACK or NAK received");
+                    }
+                    decoder.feed(send(new byte[0]));
+                    continue;
+                }
+                reads = 0;
+
+                commandNames command = SamsungMDCCommand.byCode(frame.getCommand());
+                if (echo && frame.isChecksumValid() && command == commandNames.power && frame.getMonitorID() == monitor.getMonitorID()) {
+                    echo = false;
+                    continue;
+                }
+                SamsungMDCControl control = frame.isChecksumValid() && command != null
+                        ? waiting.remove(frame.getMonitorID() << 8 | command.ordinal()) : null;
+                if (control == null) {
+                    continue;
+                }
+                metrics.recordControl(System.nanoTime() - start);
+                try {
+                    decodeFrame(frame, control.getCommand());
+                    if (!frame.isAck()) {
+                        throw new RuntimeException(control.getCommand().name() + " control returned NAK");
+                    }
+                    powerOnAcknowledged |= controlAcknowledged(control);
+                    control.getDone().complete(null);
+                } catch (RuntimeException e) {
+                    control.getDone().completeExceptionally(e);
+                }
+            }
+
+            //the broadcast frames were written after requests the connected display answered
+            for (SamsungMDCControl control : broadcast) {
+                metrics.recordControl(System.nanoTime() - start);
+                powerOnAcknowledged |= controlAcknowledged(control);
+                control.getDone().complete(null);
+            }
+            broadcast.clear();
+        } catch (Exception e) {
+            List<SamsungMDCControl> failed = new ArrayList<>(broadcast);
+            failed.addAll(waiting.values());
+            for (SamsungMDCControl control : failed) {
+                metrics.recordControl(System.nanoTime() - start);
+                control.getDone().completeExceptionally(e);
+            }
+        }
+
+        if (powerOnAcknowledged) {
+            //disconnect from the device as it is unresponsive while warming up
+            destroyChannel();
+            startWarmup();
+        }
+    }
+
+    /**
+     * This method is used to follow the power state of the display the adapter connects to once a control is acknowledged
+     * @param control This is the acknowledged control
+     * @return boolean This returns true if that display was switched on and is now warming up
+     */
+    private boolean controlAcknowledged(SamsungMDCControl control) {
+        if (control.getCommand() == commandNames.power) {
+            //a monitor leaving standby is read in full by the next poll rather than after standbyPollInterval
+            for (SamsungMDCMonitor chained : monitors) {
+                if (control.getMonitorID() == chained.getMonitorID() || control.getMonitorID() == BROADCAST_MONITOR_ID) {
+                    chained.expire(commandNames.power);
+                }
+            }
+        }
+        if (control.getCommand() != commandNames.power
+                || control.getMonitorID() != monitor.getMonitorID() && control.getMonitorID() != BROADCAST_MONITOR_ID) {
+            return false;
+        }
+        if (control.getValue() == powerStatusNames.ON.code) {
+            return true;
+        }
+        powerOffAcknowledged();
+        return false;
+    }
+
+    /**
+     * This method is recalled by Symphony to get the list of statistics to be displayed
+     * @return List<Statistics> This return the list of statistics.
+     */
+    @Override
+    public List<Statistics> getMultipleStatistics() throws Exception {
+        SamsungMDCPingResult pingResult = pingPreCheck ? checkReachability() : null;
+        SamsungMDCGroupControlReport report = groupControlReport;
+        ExtendedStatistics extendedStatistics;
+
+        if (pingResult != null && !pingResult.isReachable()) {
+            extendedStatistics = unreachableStatistics();
+        } else if (statisticsCacheTTL <= 0) {
+            SamsungMDCResult result = pollStatistics();
+            if (!result.isShared()) {
+                extendedStatistics = result.getStatistics();
+            } else if (pingResult == null && report == null && !adapterMetrics) {
+                return result.getStatisticsList();
+            } else {
+                //shared statistics are returned by later polls too, the adapter statistics go to a copy
+                extendedStatistics = copyStatistics(result.getStatistics());
+            }
+        } else {
+            long refreshes = refreshCount;
+            SamsungMDCStatisticsSnapshot current = snapshot;
+
+            if (current == null || refreshError != null) {
+                //nothing to serve yet, or the last background refresh failed and its error has to be reported
+                current = refreshSynchronously(refreshes);
+            } else if (System.currentTimeMillis() - current.getTimestamp() >= statisticsCacheTTL && refreshing.compareAndSet(false, true)) {
+                backgroundExecutor.execute(this::refreshInBackground);
+            }
+            extendedStatistics = withCacheStatistics(current);
+        }
+
+        if (pingResult != null && pingResult.getLatency() >= 0) {
+            extendedStatistics.getStatistics().put(adapterStatisticNames.ping_latency.name().replaceAll("_", " "), Integer.toString(pingResult.getLatency()));
+        }
+        if (report != null) {
+            report.putStatistics(extendedStatistics.getStatistics());
+        }
+        if (adapterMetrics) {
+            metrics.putStatistics(extendedStatistics.getStatistics(), decoder.getChecksumErrors());
+        }
+        return new ArrayList<Statistics>(Collections.singleton(extendedStatistics));
+    }
+
+    /**
+     * This method is used to copy statistics into maps the adapter statistics can be added to
+     * @param source This is the statistics to be copied
+     * @return ExtendedStatistics This returns the copy.
+     */
+    private static ExtendedStatistics copyStatistics(ExtendedStatistics source) {
+        ExtendedStatistics extendedStatistics = new ExtendedStatistics();
+        extendedStatistics.setStatistics(new HashMap<>(source.getStatistics()));
+        extendedStatistics.setDynamicStatistics(source.getDynamicStatistics());
+        extendedStatistics.setControl(source.getControl());
+        return extendedStatistics;
+    }
+
+    /**
+     * This method is used to get the reachability of the host, pinging it unless a ping younger than {@link #pingCacheTTL}
+     * is known for that host
+     * @return SamsungMDCPingResult This returns the ping result, reachable with a negative latency if ICMP is not usable
+     */
+    private SamsungMDCPingResult checkReachability() {
+        long now = System.currentTimeMillis();
+        SamsungMDCPingResult pingResult = pingResults.get(this.host);
+        if (pingResult != null && now - pingResult.getTimestamp() < pingCacheTTL) {
+            return pingResult;
+        }
+
+        try {
+            int latency = ping();
+            //BaseDevice reports the ping timeout when the host did not answer
+            pingResult = new SamsungMDCPingResult(latency < getPingTimeout(), latency, System.currentTimeMillis());
+        } catch (Exception e) {
+            //without ICMP the display is polled as if the check was disabled
+            if (this.logger.isDebugEnabled()) {
+                this.logger.debug("ping failed, polling without reachability check: " + this.host, e);
+            }
+            pingResult = new SamsungMDCPingResult(true, -1, System.currentTimeMillis());
+        }
+        pingResults.put(this.host, pingResult);
+        return pingResult;
+    }
+
+    /**
+     * This method is used to build the statistics of a host not answering pings, without polling the display
+     * @return ExtendedStatistics This returns the statistics reporting the display unreachable.
+     */
+    private ExtendedStatistics unreachableStatistics() {
+        ExtendedStatistics extendedStatistics = new ExtendedStatistics();
+        Map<String, String> statistics = new HashMap<>();
+
+        statistics.put(adapterStatisticNames.connection_state.name().replaceAll("_", " "), connectionStateNames.UNREACHABLE.name());
+        extendedStatistics.setStatistics(statistics);
+        return extendedStatistics;
+    }
+
+    /**
+     * This method is used to poll the display from the calling thread, unless another caller refreshed the snapshot
+     * meanwhile, in which case the outcome of that refresh is shared, be it the snapshot or the error
+     * @param refreshes This is the number of refreshes the caller found
+     * @return SamsungMDCStatisticsSnapshot This returns the up to date snapshot.
+     */
+    private SamsungMDCStatisticsSnapshot refreshSynchronously(long refreshes) throws Exception {
+        synchronized (snapshotLock) {
+            SamsungMDCStatisticsSnapshot current = snapshot;
+            if (refreshCount != refreshes) {
+                if (lastRefreshError != null) {
+                    throw lastRefreshError;
+                }
+                if (current != null) {
+                    return current;
+                }
+            }
+            try {
+                return refreshSnapshot();
+            } finally {
+                //the error of the background refresh is reported until this refresh completes, so callers arriving
+                //meanwhile wait for its outcome rather than serve the snapshot
+                refreshError = null;
+            }
+        }
+    }
+
+    /**
+     * This method is used to refresh the snapshot from the background executor, keeping any error for the next caller
+     */
+    private void refreshInBackground() {
+        try {
+            synchronized (snapshotLock) {
+                try {
+                    refreshSnapshot();
+                } catch (Exception e) {
+                    refreshError = e;
+                    if (this.logger.isDebugEnabled()) {
+                        this.logger.debug("error during background statistics refresh", e);
+                    }
+                }
+            }
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    /**
+     * This method is used to poll the display and replace the snapshot, called with the snapshot lock held
+     * @return SamsungMDCStatisticsSnapshot This returns the new snapshot.
+     */
+    private SamsungMDCStatisticsSnapshot refreshSnapshot() throws Exception {
+        long start = System.currentTimeMillis();
+        try {
+            ExtendedStatistics statistics = pollStatistics().getStatistics();
+            long now = System.currentTimeMillis();
+
+            snapshot = new SamsungMDCStatisticsSnapshot(statistics, now, now - start);
+            lastRefreshError = null;
+            return snapshot;
+        } catch (Exception e) {
+            lastRefreshError = e;
+            throw e;
+        } finally {
+            refreshCount++;
+        }
+    }
+
+    /**
+     * This method is used to add the cache age and refresh latency to a copy of the snapshot statistics
+     * @param current This is the snapshot to be returned
+     * @return ExtendedStatistics This returns the statistics to be returned to Symphony.
+     */
+    private ExtendedStatistics withCacheStatistics(SamsungMDCStatisticsSnapshot current) {
+        ExtendedStatistics cached = current.getStatistics();
+        ExtendedStatistics extendedStatistics = new ExtendedStatistics();
+        Map<String, String> statistics = new HashMap<>(cached.getStatistics());
+
+        statistics.put(adapterStatisticNames.cache_age.name().replaceAll("_", " "), Long.toString(System.currentTimeMillis() - current.getTimestamp()));
+        statistics.put(adapterStatisticNames.refresh_latency.name().replaceAll("_", " "), Long.toString(current.getRefreshLatency()));
+
+        extendedStatistics.setControl(cached.getControl());
+        extendedStatistics.setDynamicStatistics(current.takeDynamicStatistics());
+        extendedStatistics.setStatistics(statistics);
+        return extendedStatistics;
+    }
+
+    /**
+     * This method is used to poll the display for the statistics to be displayed, one poll at a time
+     * @return SamsungMDCResult This returns the statistics read from the display, shared when the state they were built
+     * from is unchanged.
+     */
+    private SamsungMDCResult pollStatistics() throws Exception {
+        synchronized (pollLock) {
+            return readStatistics();
+        }
+    }
+
+    /**
+     * This method is used to read the statistics from the display, called with the poll lock held
+     * @return SamsungMDCResult This returns the statistics read from the display, shared when the state they were built
+     * from is unchanged.
+     */
+    private SamsungMDCResult readStatistics() throws Exception {
+        //commands not sent before the deadline are skipped and reported from their last result
+        long deadline = pollBudget > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(pollBudget) : 0;
+        List<SamsungMDCMonitor> chain = monitors;
+        Map<String, String> controllable = this.controllable;
+        boolean grouped = chain.size() > 1;
+
+        if (powerState == powerStateNames.WARMING) {
+            //the display does not answer while warming up, report the requested state until the probe gets an ACK,
+            //along with the last known values and their age
+            long now = System.currentTimeMillis();
+            ExtendedStatistics extendedStatistics = new ExtendedStatistics();
+            Map<String, String> statistics = new HashMap<>();
+            for (SamsungMDCMonitor chained : chain) {
+                putStatistics(statistics, new HashSet<>(), chained, grouped ? groupName(chained) : "", powerStateNames.WARMING, null, now);
+            }
+            String group = grouped ? groupName(monitor) : "";
+            statistics.put(group + commandNames.power.name(), "1");
+            statistics.remove(group + commandNames.power.name() + " age");
+            statistics.put(group + adapterStatisticNames.power_state.name().replaceAll("_", " "), powerStateNames.WARMING.name());
+            statistics.put(adapterStatisticNames.connection_state.name().replaceAll("_", " "), getConnectionState().name());
+            extendedStatistics.setControl(controllable);
+            extendedStatistics.setStatistics(statistics);
+            return new SamsungMDCResult(extendedStatistics);
+        }
+
+        //without a connection the reconnect backoff decides when the display is tried again
+        if (reconnected || !channelOpen) {
+            reconnected = false;
+            for (SamsungMDCMonitor chained : chain) {
+                chained.clearRetries();
+            }
+        }
+
+        //only the commands whose poll interval elapsed are sent, the others are reported from their last result
+        long now = System.currentTimeMillis();
+        Map<SamsungMDCMonitor, Set<commandNames>> due = new LinkedHashMap<>();
+        Set<commandNames> polledCommands = this.polledCommands;
+        boolean standbyPolling = this.standbyPolling;
+        for (SamsungMDCMonitor chained : chain) {
+            Set<commandNames> commands = EnumSet.noneOf(commandNames.class);
+            if (standbyPolling && chained.isStandby()) {
+                //the other commands NAK, time out or read meaningless values in standby
+                if (chained.isDue(commandNames.power, now, Math.max(powerPollInterval, standbyPollInterval))) {
+                    commands.add(commandNames.power);
+                }
+            } else {
+                for (commandNames command : polledCommands) {
+                    if (isPolled(chained, command) && chained.isDue(command, now, pollInterval(command))) {
+                        commands.add(command);
+                    }
+                }
+            }
+            due.put(chained, commands);
+        }
+
+        //in pipelined modes the responses are collected up front, any missing one is requested again on its own
+        Map<SamsungMDCMonitor, Set<commandNames>> prefetched = prefetch(due, now, deadline);
+
+        //a failing command keeps its last known good value, the poll only fails once every command of every monitor is failing
+        int attempted = 0;
+        int succeeded = 0;
+        boolean allFailing = true;
+        Exception lastError = null;
+
+        Map<SamsungMDCMonitor, Set<commandNames>> skipped = new HashMap<>();
+
+        for (Map.Entry<SamsungMDCMonitor, Set<commandNames>> entry : due.entrySet()) {
+            SamsungMDCMonitor chained = entry.getKey();
+            for (commandNames command : entry.getValue()) {
+                Set<commandNames> received = prefetched.getOrDefault(chained, Collections.emptySet());
+                if (!received.contains(command) && expired(deadline)) {
+                    skipped.computeIfAbsent(chained, k -> EnumSet.noneOf(commandNames.class)).add(command);
+                    continue;
+                }
+                Exception error = poll(chained, command, received, now, deadline);
+                if (error instanceof TimeoutException) {
+                    skipped.computeIfAbsent(chained, k -> EnumSet.noneOf(commandNames.class)).add(command);
+                    continue;
+                }
+                attempted++;
+                if (error == null) {
+                    succeeded++;
+                } else {
+                    lastError = error;
+                }
+            }
+            allFailing &= chained.allFailing(PIPELINED_POLL);
+        }
+
+        if (attempted > 0 && succeeded == 0 && allFailing) {
+            throw lastError;
+        }
+
+        //monitors turned ON since the last poll are read in full right away, whatever the poll intervals
+        Map<SamsungMDCMonitor, Set<commandNames>> woken = new LinkedHashMap<>();
+        for (SamsungMDCMonitor chained : chain) {
+            boolean off = chained.getLastPower() == powerStatusNames.OFF;
+            if (chained.isStandby() && !off) {
+                Set<commandNames> commands = EnumSet.noneOf(commandNames.class);
+                for (commandNames command : polledCommands) {
+                    if (command != commandNames.power && isPolled(chained, command)) {
+                        commands.add(command);
+                    }
+                }
+                woken.put(chained, commands);
+            }
+            chained.setStandby(standbyPolling && off);
+        }
+        if (!woken.isEmpty()) {
+            if (this.logger.isDebugEnabled()) {
+                this.logger.debug("full refresh of " + woken.size() + " monitors leaving standby: " + this.host + " port: " + this.getPort());
+            }
+            Map<SamsungMDCMonitor, Set<commandNames>> refreshed = prefetch(woken, now, deadline);
+            for (Map.Entry<SamsungMDCMonitor, Set<commandNames>> entry : woken.entrySet()) {
+                SamsungMDCMonitor chained = entry.getKey();
+                Set<commandNames> received = refreshed.getOrDefault(chained, Collections.emptySet());
+                for (commandNames command : entry.getValue()) {
+                    if (!received.contains(command) && expired(deadline)) {
+                        skipped.computeIfAbsent(chained, k -> EnumSet.noneOf(commandNames.class)).add(command);
+                        continue;
+                    }
+                    if (poll(chained, command, received, now, deadline) instanceof TimeoutException) {
+                        skipped.computeIfAbsent(chained, k -> EnumSet.noneOf(commandNames.class)).add(command);
+                    }
+                }
+            }
+        }
+
+        if (!skipped.isEmpty() && this.logger.isDebugEnabled()) {
+            this.logger.debug("poll budget of " + pollBudget + "ms exhausted, skipped " + skipped.size() + " monitors: " + this.host + " port: " + this.getPort());
+        }
+
+        readIdentity(chain, now, deadline);
+
+        //only the display the adapter connects to goes through the warm up
+        powerStatusNames lastPower = monitor.getLastPower();
+        if (lastPower != null) {
+            updatePowerState(lastPower == powerStatusNames.ON ? powerStateNames.ON : powerStateNames.OFF);
+        }
+
+        //statistics holding no age nor history only depend on the fingerprint, the previous ones are reused while it matches
+        Set<String> historicalProperties = this.historicalProperties;
+        long[] versions = new long[chain.size()];
+        boolean reusable = historicalProperties.isEmpty() && skipped.isEmpty();
+        for (int i = 0; i < versions.length; i++) {
+            versions[i] = chain.get(i).getVersion();
+            reusable &= chain.get(i).isFresh(now);
+        }
+        powerStateNames currentPowerState = powerState;
+        connectionStateNames connectionState = getConnectionState();
+
+        SamsungMDCResult result = lastResult;
+        if (reusable && result != null && result.matches(chain, versions, currentPowerState, connectionState, pollMode, controllable)) {
+            return result;
+        }
+
+        Map<String, String> statistics = new HashMap<>();
+        //statistics read by this poll, the others are reported from earlier polls
+        Set<String> read = new HashSet<>();
+        for (SamsungMDCMonitor chained : chain) {
+            putStatistics(statistics, read, chained, grouped ? groupName(chained) : "", currentPowerState, skipped.get(chained), now);
+        }
+        statistics.put(adapterStatisticNames.connection_state.name().replaceAll("_", " "), connectionState.name());
+
+        if (this.logger.isDebugEnabled()) {
+            this.logger.debug("statistics: " + statistics + ", controllable: " + controllable.keySet());
+        }
+
+        if (reusable) {
+            result = new SamsungMDCResult(statistics, chain, versions, currentPowerState, connectionState, pollMode, controllable);
+            lastResult = result;
+            return result;
+        }
+
+        lastResult = null;
+        Map<String, String> dynamicStatistics = new HashMap<>();
+        history.apply(statistics, dynamicStatistics, historicalProperties, read, now);
+
+        ExtendedStatistics extendedStatistics = new ExtendedStatistics();
+        extendedStatistics.setControl(controllable);
+        extendedStatistics.setStatistics(statistics);
+        extendedStatistics.setDynamicStatistics(dynamicStatistics);
+        return new SamsungMDCResult(extendedStatistics);
+    }
+
+    /**
+     * This method is used to read the identity of the answering monitors not read through the current connection yet,
+     * in a single write in the pipelined poll modes
+     * @param chain This is the list of monitors
+     * @param now This is the time of the current poll
+     * @param deadline This is the deadline of the poll from {@link System#nanoTime()}, 0 for none
+     */
+    private void readIdentity(List<SamsungMDCMonitor> chain, long now, long deadline) {
+        if (expired(deadline)) {
+            return;
+        }
+        long connection = connectionGeneration;
+        Map<SamsungMDCMonitor, Set<commandNames>> due = new LinkedHashMap<>();
+        for (SamsungMDCMonitor chained : chain) {
+            if (!chained.allFailing(PIPELINED_POLL) && chained.isIdentityDue(connection, now, identityTTL)) {
+                due.put(chained, IDENTITY_POLL);
+            }
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+
+        Map<SamsungMDCMonitor, Set<commandNames>> prefetched = pollMode == pollModeNames.SEQUENTIAL ? Collections.emptyMap() : sendPipelined(due, deadline);
+        for (SamsungMDCMonitor chained : due.keySet()) {
+            Set<commandNames> received = prefetched.getOrDefault(chained, Collections.emptySet());
+            SamsungMDCIdentity previous = chained.getIdentity();
+            //a failed read keeps the previous value, and is retried on the next connection as failures close it
+            chained.setIdentity(new SamsungMDCIdentity(
+                    readIdentity(chained, commandNames.serialNumber, received, deadline, previous == null ? null : previous.getSerialNumber()),
+                    readIdentity(chained, commandNames.softwareVersion, received, deadline, previous == null ? null : previous.getSoftwareVersion()),
+                    readIdentity(chained, commandNames.modelName, received, deadline, previous == null ? null : previous.getModelName()),
+                    readIdentity(chained, commandNames.modelCode, received, deadline, previous == null ? null : previous.getModelCode())),
+                    connection, now);
+        }
+    }
+
+    /**
+     * This method is used to read one identity property of a monitor
+     * @param chained This is the monitor
+     * @param command This is the identity command
+     * @param prefetched This is the set of commands of the monitor already received through a pipelined send
+     * @param deadline This is the deadline of the poll from {@link System#nanoTime()}, 0 for none
+     * @param previous This is the value known so far, returned if the read fails
+     * @return String This returns the value, null if the display does not support the command
+     */
+    private String readIdentity(SamsungMDCMonitor chained, commandNames command, Set<commandNames> prefetched, long deadline, String previous) {
+        if (!prefetched.contains(command) && expired(deadline)) {
+            return previous;
+        }
+        try {
+            return (String) request(chained, command, prefetched, deadline);
+        } catch (Exception e) {
+            if (this.logger.isDebugEnabled()) {
+                this.logger.debug("error during " + command.name() + " read of monitor " + chained.getMonitorID(), e);
+            }
+            return previous;
+        }
+    }
+
+    /**
+     * This method is used to get the group of the properties of a monitor, when several monitor IDs are polled
+     * @param chained This is the monitor
+     * @return String This returns the group prefix, "Monitor ID#"
+     */
+    private static String groupName(SamsungMDCMonitor chained) {
+        return MONITOR_GROUP + chained.getMonitorID() + "#";
+    }
+
+    /**
+     * This method is used to collect the responses of the due commands of every monitor up front in the pipelined poll modes.
+     * In DISPLAY_STATUS mode, power and input read from the display status are removed from the due commands, the other
+     * due commands are written along with the display status.
+     * @param due This is the map of due commands of each monitor
+     * @param now This is the time of the current poll
+     * @param deadline This is the deadline of the poll from {@link System#nanoTime()}, 0 for none
+     * @return Map<SamsungMDCMonitor, Set<commandNames>> This returns the commands of each monitor received through the pipelined send
+     */
+    private Map<SamsungMDCMonitor, Set<commandNames>> prefetch(Map<SamsungMDCMonitor, Set<commandNames>> due, long now, long deadline) {
+        Map<SamsungMDCMonitor, Set<commandNames>> batches = new LinkedHashMap<>();
+
+        if (pollMode == pollModeNames.DISPLAY_STATUS) {
+            for (Map.Entry<SamsungMDCMonitor, Set<commandNames>> entry : due.entrySet()) {
+                Set<commandNames> commands = entry.getValue();
+                //a monitor in standby only reads power, with the power command as the display status may NAK in standby
+                if (entry.getKey().isDisplayStatusSupported() && !entry.getKey().isStandby() && (commands.contains(commandNames.power) || commands.contains(commandNames.input))) {
+                    Set<commandNames> batch = EnumSet.copyOf(commands);
+                    batch.remove(commandNames.power);
+                    batch.remove(commandNames.input);
+                    batch.add(commandNames.displayStatus);
+                    batches.put(entry.getKey(), batch);
+                }
+            }
+            if (batches.isEmpty()) {
+                return Collections.emptyMap();
+            }
+
+            Map<SamsungMDCMonitor, Set<commandNames>> prefetched = sendPipelined(batches, deadline);
+            for (SamsungMDCMonitor chained : batches.keySet()) {
+                try {
+                    SamsungMDCDisplayStatus displayStatus = getDisplayStatus(chained, prefetched.get(chained), deadline);
+                    chained.setLastDisplayStatus(displayStatus);
+                    chained.setLastPower(displayStatus.getPower());
+                    chained.setLastInput(displayStatus.getInput());
+                    chained.markPolled(commandNames.displayStatus, now);
+                    chained.markPolled(commandNames.power, now);
+                    chained.markPolled(commandNames.input, now);
+                    due.get(chained).remove(commandNames.power);
+                    due.get(chained).remove(commandNames.input);
+                } catch (UnsupportedOperationException e) {
+                    //firmware without display status support, fall back to the power, status and input commands from now on
+                    chained.setDisplayStatusSupported(false);
+                    chained.setLastDisplayStatus(null);
+                    if (this.logger.isInfoEnabled()) {
+                        this.logger.info("Display status command not supported by: " + this.host + " port: " + this.getPort()
+                                + " monitor: " + chained.getMonitorID() + ", falling back to separate commands");
+                    }
+                } catch (Exception e) {
+                    if (this.logger.isDebugEnabled()) {
+                        this.logger.debug("error during getDisplayStatus", e);
+                    }
+                }
+            }
+            return prefetched;
+        } else if (pollMode == pollModeNames.PIPELINED) {
+            for (Map.Entry<SamsungMDCMonitor, Set<commandNames>> entry : due.entrySet()) {
+                if (!entry.getValue().isEmpty()) {
+                    batches.put(entry.getKey(), entry.getValue());
+                }
+            }
+            return batches.isEmpty() ? Collections.emptyMap() : sendPipelined(batches, deadline);
+        }
+        return Collections.emptyMap();
+    }
+
+    /**
+     * This method is used to read a due command of a monitor and keep its result
+     * @param chained This is the monitor
+     * @param command This is the command to be read
+     * @param prefetched This is the set of commands of the monitor already received through a pipelined send
+     * @param now This is the time of the current poll
+     * @param deadline This is the deadline of the poll from {@link System#nanoTime()}, 0 for none
+     * @return Exception This returns the error of a failed read, a TimeoutException if the command was not sent
+     * before the deadline, null if the command was read.
+     */
+    private Exception poll(SamsungMDCMonitor chained, commandNames command, Set<commandNames> prefetched, long now, long deadline) {
+        try {
+            switch (command) {
+                case power:
+                    chained.setLastPower(getPower(chained, prefetched, deadline));
+                    break;
+                case status:
+                    chained.setLastStatus(getStatus(chained, prefetched, deadline));
+                    break;
+                case input:
+                    chained.setLastInput(getInput(chained, prefetched, deadline));
+                    break;
+                default:
+                    chained.setLastValue(command, request(chained, command, prefetched, deadline));
+                    break;
+            }
+            chained.markPolled(command, now);
+            return null;
+        } catch (TimeoutException e) {
+            //the poll budget was spent before the request could be written, the command is skipped rather than failed
+            return e;
+        } catch (UnsupportedOperationException e) {
+            //telemetry command not supported by the display, no longer polled
+            chained.setUnsupported(command);
+            if (this.logger.isInfoEnabled()) {
+                this.logger.info(command.name() + " command not supported by: " + this.host + " port: " + this.getPort()
+                        + " monitor: " + chained.getMonitorID());
+            }
+            return null;
+        } catch (Exception e) {
+            if (this.logger.isDebugEnabled()) {
+                this.logger.debug("error during " + command.name() + " read of monitor " + chained.getMonitorID(), e);
+            }
+            chained.markFailed(command, now);
+            return e;
+        }
+    }
+
+    /**
+     * This method is used to add the last known values of a monitor to the statistics
+     * @param statistics This is the map of statistics to be filled
+     * @param read This is the set of statistic names read by the current poll to be filled
+     * @param chained This is the monitor
+     * @param group This is the prefix of the monitor properties, empty when a single monitor is polled
+     * @param powerState This is the power state of the display the adapter connects to
+     * @param skipped This is the set of due commands skipped as the poll budget was exhausted, null if none
+     * @param now This is the time of the current poll
+     */
+    private void putStatistics(Map<String, String> statistics, Set<String> read, SamsungMDCMonitor chained, String group,
+                               powerStateNames powerState, Set<commandNames> skipped, long now) {
+        powerStatusNames lastPower = chained.getLastPower();
+        if (lastPower != null) {
+            String power = lastPower.name();
+            if(power.compareTo("ON") == 0) {
+                statistics.put(group + commandNames.power.name(), "1");
+            }else if(power.compareTo("OFF") == 0)
+            {
+                statistics.put(group + commandNames.power.name(), "0");
+            }
+            if (chained == monitor && powerState != null) {
+                statistics.put(group + adapterStatisticNames.power_state.name().replaceAll("_", " "), powerState.name());
+            }
+            if (putAge(statistics, chained, group, commandNames.power, now)) {
+                read.add(group + commandNames.power.name());
+            }
+        }
+        if (chained.isStandby()) {
+            statistics.put(group + adapterStatisticNames.standby.name(), "true");
+        }
+
+        SamsungMDCStatus status = chained.getLastStatus();
+        if (status != null) {
+            statistics.put(group + statusNames.lamp.name(), status.getLamp().name());
+            statistics.put(group + statusNames.temperature_code.name().replaceAll("_", " "), status.getTemperatureError().name());
+            //statistics.put(statusNames.brightness_sensor.name(), status.getBrightnessSensor().name());
+            if(status.getNoSync().name() == "ERROR")
+            {
+                statistics.put(group + statusNames.sync.name(), "NO SYNC");
+            }else if(status.getNoSync().name() == "NORMAL")
+            {
+                statistics.put(group + statusNames.sync.name(), "DETECTED");
+            }
+
+            statistics.put(group + statusNames.fan.name(), status.getFan().name());
 
-        // set list of command success strings (included at the end of response when command succeeds, typically ending with command prompt)
-        this.setCommandSuccessList(Collections.singletonList("A"));
-        // set list of error response strings (included at the end of response when command fails, typically ending with command prompt)
-        this.setCommandErrorList(Collections.singletonList("ERROR"));
+            statistics.put(group + statusNames.temperature.name(), Integer.toString(status.getTemperature()));
+            if (putAge(statistics, chained, group, commandNames.status, now)) {
+                read.add(group + statusNames.temperature.name());
+            }
+        }
+
+        if (chained.getLastInput() != null) {
+            statistics.put(group + commandNames.input.name(), chained.getLastInput().name());
+            putAge(statistics, chained, group, commandNames.input, now);
+        }
+
+        SamsungMDCDisplayStatus displayStatus = chained.getLastDisplayStatus();
+        if (pollMode == pollModeNames.DISPLAY_STATUS && displayStatus != null) {
+            statistics.put(group + displayStatusNames.volume.name(), Integer.toString(displayStatus.getVolume()));
+            statistics.put(group + displayStatusNames.mute.name(), displayStatus.getMute().name());
+            if (chained.getLastPollTime(commandNames.displayStatus) == now) {
+                read.add(group + displayStatusNames.volume.name());
+            }
+        }
+
+        for (commandNames command : TELEMETRY) {
+            Object value = chained.getLastValue(command);
+            if (value != null) {
+                String name = SamsungMDCCommand.of(command).putStatistics(statistics, group, value);
+                if (putAge(statistics, chained, group, command, now)) {
+                    read.add(name);
+                }
+            }
+        }
+
+        SamsungMDCIdentity identity = chained.getIdentity();
+        if (identity != null) {
+            identity.putStatistics(statistics, group);
+        }
+
+        if (skipped != null) {
+            StringBuilder stale = new StringBuilder();
+            for (commandNames command : skipped) {
+                stale.append(stale.length() > 0 ? "," : "").append(command.name());
+            }
+            statistics.put(group + adapterStatisticNames.stale_commands.name().replaceAll("_", " "), stale.toString());
+        }
     }
 
     /**
-     * Retrieves {@link #historicalProperties}
-     *
-     * @return value of {@link #historicalProperties}
+     * This method is used to know if a command is polled for a monitor, volume and mute are read from the display
+     * status in DISPLAY_STATUS mode, and unsupported commands are not polled
+     * @param chained This is the monitor
+     * @param command This is the command
+     * @return boolean This returns true if the command is sent when it is due.
      */
-    public String getHistoricalProperties() {
-        return String.join(",", this.historicalProperties);
+    private boolean isPolled(SamsungMDCMonitor chained, commandNames command) {
+        if (!TELEMETRY.contains(command)) {
+            return true;
+        }
+        if (pollMode == pollModeNames.DISPLAY_STATUS && chained.isDisplayStatusSupported()
+                && (command == commandNames.volume || command == commandNames.mute)) {
+            return false;
+        }
+        return chained.isSupported(command);
     }
 
     /**
-     * Sets {@link #historicalProperties} value
-     *
-     * @param historicalProperties new value of {@link #historicalProperties}
+     * This method is used to report how old the value of a command is, when it was not read by the current poll
+     * @param statistics This is the map of statistics to be filled
+     * @param chained This is the monitor whose value is reported
+     * @param group This is the prefix of the monitor properties
+     * @param command This is the command whose value is reported
+     * @param now This is the time of the current poll
+     * @return boolean This returns true if the value was read by the current poll, so that no age is reported.
      */
-    public void setHistoricalProperties(String historicalProperties) {
-        this.historicalProperties.clear();
-        Arrays.asList(historicalProperties.split(",")).forEach(propertyName -> {
-            this.historicalProperties.add(propertyName.trim());
-        });
-    }
-
-    public int getMonitorID() {
-        return monitorID;
-    }
-
-    public void setMonitorID(int monitorID) {
-        this.monitorID = monitorID;
+    private boolean putAge(Map<String, String> statistics, SamsungMDCMonitor chained, String group, commandNames command, long now) {
+        long lastPollTime = chained.getLastPollTime(command);
+        if (lastPollTime != now) {
+            statistics.put(group + command.name() + " age", Long.toString(now - lastPollTime));
+            return false;
+        }
+        return true;
     }
 
     /**
-     * This method is recalled by Symphony to control specific property
-     * @param controllableProperty This is the property to be controled
+     * This method is used to get the poll interval configured for a command
+     * @param command This is the polled command
+     * @return long This returns the poll interval in ms.
      */
-    @Override
-    public void controlProperty(ControllableProperty controllableProperty) throws Exception {
-
-        if (controllableProperty.getProperty().equals(commandNames.power.name())){
-            if(controllableProperty.getValue().toString().equals("1")){
-                powerON();
-            }else if(controllableProperty.getValue().toString().equals("0")){
-                powerOFF();
-            }
+    private long pollInterval(commandNames command) {
+        switch (command) {
+            case power:
+                return powerPollInterval;
+            case status:
+                return statusPollInterval;
+            case input:
+                return inputPollInterval;
+            default:
+                return telemetryPollInterval;
         }
     }
 
     /**
-     * This method is recalled by Symphony to control a list of properties
-     * @param controllableProperties This is the list of properties to be controlled
-     * @return byte This returns the calculated xor checksum.
+     * This method is used to write the get requests of several commands of several monitors in a single write and collect
+     * their responses, matched by monitor ID and command byte
+     * @param batches This is the set of commands to be requested from each monitor
+     * @return Map<SamsungMDCMonitor, Set<commandNames>> This returns the commands of each monitor whose response frame was received
      */
-    @Override
-    public void controlProperties(List<ControllableProperty> controllableProperties) throws Exception {
-        // same as controlProperty(ControllableProperty controllableProperty), but for a multiples of ControllableProperty
-        controllableProperties.stream().forEach(p -> {
-            try {
-                controlProperty(p);
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        });
+    private Map<SamsungMDCMonitor, Set<commandNames>> sendPipelined(Map<SamsungMDCMonitor, Set<commandNames>> batches) {
+        return sendPipelined(batches, 0);
     }
 
     /**
-     * This method is recalled by Symphony to get the list of statistics to be displayed
-     * @return List<Statistics> This return the list of statistics.
+     * This method is used to write the get requests of several commands of several monitors in a single write and collect
+     * their responses, matched by monitor ID and command byte, until the longest command timeout. Nothing is written once
+     * the deadline of the poll passed.
+     * @param batches This is the set of commands to be requested from each monitor
+     * @param deadline This is the deadline of the poll from {@link System#nanoTime()}, 0 for none
+     * @return Map<SamsungMDCMonitor, Set<commandNames>> This returns the commands of each monitor whose response frame was received
      */
-    @Override
-    public List<Statistics> getMultipleStatistics() throws Exception {
-        ExtendedStatistics extendedStatistics = new ExtendedStatistics();
-
-        Map<String, String> controllable = new HashMap<String, String>(){{
-            put(commandNames.power.name(),"Toggle");
-        }};
-
-        Map<String, String> statistics = new HashMap<>();
-        Map<String, String> dynamicStatistics = new HashMap<>();
-
-        String power;
-
-        try {
-            power = getPower().name();
-            if(power.compareTo("ON") == 0) {
-                statistics.put(commandNames.power.name(), "1");
-            }else if(power.compareTo("OFF") == 0)
-            {
-                statistics.put(commandNames.power.name(), "0");
-            }
-        }catch (Exception e) {
-            if (this.logger.isDebugEnabled()) {
-                this.logger.debug("error during getPower", e);
+    private Map<SamsungMDCMonitor, Set<commandNames>> sendPipelined(Map<SamsungMDCMonitor, Set<commandNames>> batches, long deadline) {
+        Map<SamsungMDCMonitor, Set<commandNames>> received = new HashMap<>();
+        int expected = 0;
+        //responses are timed from the write, the batch is given the longest timeout, none if one of them is unknown
+        long timeout = 0;
+        boolean timeoutKnown = true;
+        for (Map.Entry<SamsungMDCMonitor, Set<commandNames>> entry : batches.entrySet()) {
+            received.put(entry.getKey(), EnumSet.noneOf(commandNames.class));
+            expected += entry.getValue().size();
+            for (commandNames command : entry.getValue()) {
+                long commandTimeout = entry.getKey().getRoundTrips().getTimeout(command, minCommandTimeout);
+                timeout = Math.max(timeout, commandTimeout);
+                timeoutKnown &= commandTimeout > 0;
             }
-            throw e;
         }
 
-
-
+        ioLock.lock();
         try {
-            SamsungMDCStatus status = getStatus();
-
-            statistics.put(statusNames.lamp.name(), status.getLamp().name());
-            statistics.put(statusNames.temperature_code.name().replaceAll("_", " "), status.getTemperatureError().name());
-            //statistics.put(statusNames.brightness_sensor.name(), status.getBrightnessSensor().name());
-            if(status.getNoSync().name() == "ERROR")
-            {
-                statistics.put(statusNames.sync.name(), "NO SYNC");
-            }else if(status.getNoSync().name() == "NORMAL")
-            {
-                statistics.put(statusNames.sync.name(), "DETECTED");
+            sendControls();
+            if (expired(deadline)) {
+                return received;
             }
+            long start = System.nanoTime();
+            readDeadline = readDeadline(start, timeoutKnown ? timeout : 0, deadline);
+            try {
+                if (batches.size() == 1) {
+                    Map.Entry<SamsungMDCMonitor, Set<commandNames>> entry = batches.entrySet().iterator().next();
+                    decoder.feed(entry.getKey().getFrameCache().writeBatch(entry.getValue(), frameSender));
+                } else {
+                    ByteBuffer request = ByteBuffer.allocate(expected * SamsungMDCUtils.sendStringLength(null));
+                    for (Map.Entry<SamsungMDCMonitor, Set<commandNames>> entry : batches.entrySet()) {
+                        entry.getKey().getFrameCache().putBatch(request, entry.getValue());
+                    }
+                    decoder.feed(send(request.array()));
+                }
+                int reads = 0;
+                int count = 0;
 
-            statistics.put(statusNames.fan.name(), status.getFan().name());
+                while (count < expected) {
+                    if (!decoder.next(frame)) {
+                        //the display answers one frame at a time, possibly split, keep reading (without writing) until
+                        //all responses arrived, as long as reads keep completing frames
+                        if (reads++ > MAX_PARTIAL_READS) {
+                            break;
+                        }
+                        decoder.feed(send(new byte[0]));
+                        continue;
+                    }
+                    reads = 0;
 
-            String temperatureParameter = statusNames.temperature.name();
-            String temperatureValue = Integer.toString(status.getTemperature());
-            if (!historicalProperties.isEmpty() && historicalProperties.contains(temperatureParameter)) {
-                dynamicStatistics.put(temperatureParameter, temperatureValue);
-            } else {
-                statistics.put(temperatureParameter, temperatureValue);
-            }
-        }catch (Exception e) {
-            if (this.logger.isDebugEnabled()) {
-                this.logger.debug("error during getStatus", e);
+                    commandNames command = SamsungMDCCommand.byCode(frame.getCommand());
+                    SamsungMDCMonitor chained = frame.isChecksumValid() ? chainedMonitor(batches.keySet(), frame.getMonitorID()) : null;
+                    if (chained != null && batches.get(chained).contains(command) && received.get(chained).add(command)) {
+                        chained.getFrame(command).copyFrom(frame);
+                        count++;
+                        metrics.recordCommand(command, System.nanoTime() - start);
+                        chained.getRoundTrips().record(command, System.nanoTime() - start);
+                    }
+                }
+            } catch (Exception e) {
+                if (e instanceof SocketTimeoutException) {
+                    for (Map.Entry<SamsungMDCMonitor, Set<commandNames>> entry : batches.entrySet()) {
+                        for (commandNames command : entry.getValue()) {
+                            if (!received.get(entry.getKey()).contains(command)) {
+                                entry.getKey().getRoundTrips().timedOut(command);
+                            }
+                        }
+                    }
+                }
+                if (this.logger.isDebugEnabled()) {
+                    this.logger.debug("error during pipelined send, missing responses will be requested one by one", e);
+                }
+            } finally {
+                readDeadline = 0;
             }
-            throw e;
+        } finally {
+            ioLock.unlock();
         }
 
-        String input;
+        return received;
+    }
 
-        try {
-            input =  getInput().name();
-            statistics.put(commandNames.input.name(), input);
-        }catch (Exception e) {
-            if (this.logger.isDebugEnabled()) {
-                this.logger.debug("error during getInput", e);
+    /**
+     * This method is used to find the monitor a response frame comes from
+     * @param chain This is the list of monitors
+     * @param monitorID This is the monitor ID of the frame
+     * @return SamsungMDCMonitor This returns the monitor, null if none has that ID
+     */
+    private static SamsungMDCMonitor chainedMonitor(Collection<SamsungMDCMonitor> chain, int monitorID) {
+        for (SamsungMDCMonitor chained : chain) {
+            //a display polled through the broadcast ID answers with its own ID
+            if (chained.getMonitorID() == monitorID || chained.getMonitorID() == BROADCAST_MONITOR_ID) {
+                return chained;
             }
-            throw e;
         }
+        return null;
+    }
 
-        extendedStatistics.setControl(controllable);
-        extendedStatistics.setStatistics(statistics);
+    /**
+     * This method is used to get the result of a get command, either from the pipelined responses or by sending it
+     * @param chained This is the monitor the command is addressed to
+     * @param command This is the command to be requested
+     * @param prefetched This is the set of commands of the monitor already received through a pipelined send
+     * @return Object This returns the result digested from the response.
+     */
+    private Object request(SamsungMDCMonitor chained, commandNames command, Set<commandNames> prefetched) throws Exception {
+        return request(chained, command, prefetched, 0);
+    }
 
-        if(this.logger.isDebugEnabled()) {
-            for (String s : controllable.keySet()) {
-                this.logger.debug("controllable key: " + s + ",value: " + controllable.get(s));
+    /**
+     * This method is used to get the result of a get command, either from the pipelined responses or by sending it
+     * unless the deadline of the poll passed, the response is awaited until the command timeout
+     * @param chained This is the monitor the command is addressed to
+     * @param command This is the command to be requested
+     * @param prefetched This is the set of commands of the monitor already received through a pipelined send
+     * @param deadline This is the deadline of the poll from {@link System#nanoTime()}, 0 for none
+     * @return Object This returns the result digested from the response.
+     * @throws TimeoutException if the deadline passed before the request was written
+     */
+    private Object request(SamsungMDCMonitor chained, commandNames command, Set<commandNames> prefetched, long deadline) throws Exception {
+        ioLock.lock();
+        try {
+            if (prefetched.contains(command)) {
+                return decodeFrame(chained.getFrame(command), command);
             }
-        }
 
-        if(this.logger.isDebugEnabled()) {
-            for (String s : statistics.keySet()) {
-                this.logger.debug("statistics key: " + s + ",value: " + statistics.get(s));
+            sendControls();
+            //queued controls and other exchanges may have spent the budget while this request waited for the connection
+            if (expired(deadline)) {
+                throw new TimeoutException("Poll budget spent before the " + command.name() + " request");
+            }
+            long start = System.nanoTime();
+            SamsungMDCRoundTrips roundTrips = chained.getRoundTrips();
+            readDeadline = readDeadline(start, roundTrips.getTimeout(command, minCommandTimeout), deadline);
+            try {
+                byte[] response = chained.getFrameCache().writeFrame(command, frameSender);
+                roundTrips.record(command, System.nanoTime() - start);
+                return digestResponse(response, command, chained.getMonitorID());
+            } catch (SocketTimeoutException e) {
+                roundTrips.timedOut(command);
+                throw e;
+            } finally {
+                readDeadline = 0;
+                metrics.recordCommand(command, System.nanoTime() - start);
             }
+        } finally {
+            ioLock.unlock();
         }
+    }
 
-        //return Collections.singletonList(extendedStatistics);
-        return new ArrayList<Statistics>(Collections.singleton(extendedStatistics));
+    /**
+     * This method is used to get the deadline of the response to a poll request, the deadline of the poll when the
+     * command timeout is unknown or adaptive timeouts are disabled, so that the poll ends close to its budget
+     * @param start This is the time of the request from {@link System#nanoTime()}
+     * @param timeout This is the timeout of the request in ms, 0 if unknown
+     * @param deadline This is the deadline of the poll from {@link System#nanoTime()}, 0 for none
+     * @return long This returns the deadline of the request, 0 for none
+     */
+    private long readDeadline(long start, long timeout, long deadline) {
+        if (!adaptiveTimeouts || timeout <= 0) {
+            return deadline;
+        }
+        return start + TimeUnit.MILLISECONDS.toNanos(timeout);
     }
 
     /**
-     * This method is used to get the current display power status
-     * @return powerStatusNames This returns the calculated xor checksum.
+     * This method is used to know if the deadline of a poll passed
+     * @param deadline This is the deadline of the poll from {@link System#nanoTime()}, 0 for none
+     * @return boolean This returns true if no more request can be sent by the poll.
      */
-    private powerStatusNames getPower() throws Exception{
-        //sending the get power command
-        byte[] response = send(SamsungMDCUtils.buildSendString((byte)monitorID,commands.get(commandNames.power)));
+    private static boolean expired(long deadline) {
+        return deadline != 0 && System.nanoTime() - deadline >= 0;
+    }
 
-        //digest the result
-        powerStatusNames power= (powerStatusNames)digestResponse(response,commandNames.power);
+    /**
+     * This method is used to get the current display power status
+     * @param chained This is the monitor the command is addressed to
+     * @param prefetched This is the set of commands of the monitor already received through a pipelined send
+     * @param deadline This is the deadline of the poll from {@link System#nanoTime()}, 0 for none
+     * @return powerStatusNames This returns the current power status.
+     */
+    private powerStatusNames getPower(SamsungMDCMonitor chained, Set<commandNames> prefetched, long deadline) throws Exception{
+        //sending the get power command and digest the result
+        powerStatusNames power= (powerStatusNames)request(chained, commandNames.power, prefetched, deadline);
 
         if(power == null)
         {
@@ -212,57 +2379,103 @@ public class SamsungMDCDevice extends SocketCommunicator implements Controller,
     }
 
     /**
-     * This method is used to send the power ON command to the display
+     * This method is used to enter the WARMING state and schedule the first readiness probe
      */
-    private void powerON() throws IOException {
+    private void startWarmup() {
+        synchronized (powerTransitionLock) {
+            if (warmupProbe != null) {
+                warmupProbe.cancel(false);
+            }
+            powerState = powerStateNames.WARMING;
+            warmupStarted = System.currentTimeMillis();
+            scheduleWarmupProbe(warmupProbeInterval, ++warmupGeneration);
+        }
+    }
 
-        byte[] toSend = SamsungMDCUtils.buildSendString((byte)monitorID,commands.get(commandNames.power),new byte[]{powerStatus.get(powerStatusNames.ON)});
+    /**
+     * This method is used to schedule the next readiness probe
+     * @param delay This is the delay in ms before the probe, doubled for the following one
+     * @param generation This is the warm up the probe belongs to
+     */
+    private void scheduleWarmupProbe(long delay, long generation) {
+        warmupProbe = backgroundExecutor.schedule(() -> probeWarmup(delay, generation), delay, TimeUnit.MILLISECONDS);
+    }
 
+    /**
+     * This method is used to check if the display answers again after power ON, leaving the WARMING state on the first
+     * good ACK reporting the display ON, or after {@link #warmupTimeout}
+     * @param delay This is the delay in ms that preceded this probe
+     * @param generation This is the warm up the probe belongs to
+     */
+    private void probeWarmup(long delay, long generation) {
+        powerStatusNames power = null;
         try {
-            byte[] response = send(toSend);
-
-            //digesting the response but voiding the result
-            digestResponse(response,commandNames.power);
-
-            //disconnect from the device and wait for 20 seconds as the device is unresponsive during this time
-            destroyChannel();
-            synchronized(this) {//synchronized block
-                Thread.sleep(20000);
-            }
-            //wait(10000);
+            //the probe has its own schedule, it is not held back by the reconnect backoff
+            allowReconnect();
+            power = getPower(monitor, Collections.emptySet(), 0);
         } catch (Exception e) {
             if (this.logger.isDebugEnabled()) {
-                this.logger.debug("error during power ON send", e);
+                this.logger.debug("display still warming up: " + this.host + " port: " + this.getPort(), e);
+            }
+            //the display may have dropped the connection while booting, reconnect on the next probe
+            destroyChannel();
+        }
+
+        synchronized (powerTransitionLock) {
+            //a later power ON started its own probes while this one was running
+            if (powerState != powerStateNames.WARMING || generation != warmupGeneration) {
+                return;
+            }
+            if (power == powerStatusNames.ON) {
+                powerState = powerStateNames.ON;
+                warmupProbe = null;
+            } else if (System.currentTimeMillis() - warmupStarted >= warmupTimeout) {
+                //give up and let the regular polling find out the actual state
+                if (this.logger.isWarnEnabled()) {
+                    this.logger.warn("display did not answer after power ON within " + warmupTimeout + "ms: " + this.host + " port: " + this.getPort());
+                }
+                powerState = null;
+                warmupProbe = null;
+            } else {
+                scheduleWarmupProbe(Math.min(delay * 2, MAX_WARMUP_PROBE_INTERVAL), generation);
             }
         }
     }
 
     /**
-     * This method is used to send the power OFF command to the display
+     * This method is used to record the power state read by a poll, unless a warm up is in progress
+     * @param state This is the power state reported by the display
      */
-    private void powerOFF() throws IOException {
-
-        byte[] toSend = SamsungMDCUtils.buildSendString((byte)monitorID,commands.get(commandNames.power),new byte[]{powerStatus.get(powerStatusNames.OFF)});
-
-        try {
-            byte[] response = send(toSend);
+    private void updatePowerState(powerStateNames state) {
+        synchronized (powerTransitionLock) {
+            if (powerState != powerStateNames.WARMING) {
+                powerState = state;
+            }
+        }
+    }
 
-            digestResponse(response,commandNames.power);
-        } catch (Exception e) {
-            if (this.logger.isDebugEnabled()) {
-                this.logger.debug("error during power OFF send", e);
+    /**
+     * This method is used to leave any warm up in progress once the display acknowledged the power OFF command
+     */
+    private void powerOffAcknowledged() {
+        synchronized (powerTransitionLock) {
+            if (warmupProbe != null) {
+                warmupProbe.cancel(false);
+                warmupProbe = null;
             }
+            powerState = powerStateNames.OFF;
         }
     }
 
     /**
      * This method is used to get the current display input
+     * @param chained This is the monitor the command is addressed to
+     * @param prefetched This is the set of commands of the monitor already received through a pipelined send
+     * @param deadline This is the deadline of the poll from {@link System#nanoTime()}, 0 for none
      * @return inputNames This returns the current input.
      */
-    private inputNames getInput()throws  Exception {
-            byte[] response = send(SamsungMDCUtils.buildSendString((byte) monitorID, commands.get(commandNames.input)));
-
-            inputNames input = (inputNames) digestResponse(response, commandNames.input);
+    private inputNames getInput(SamsungMDCMonitor chained, Set<commandNames> prefetched, long deadline)throws  Exception {
+            inputNames input = (inputNames) request(chained, commandNames.input, prefetched, deadline);
 
             if(input == null)
             {
@@ -274,12 +2487,13 @@ public class SamsungMDCDevice extends SocketCommunicator implements Controller,
 
     /**
      * This method is used to get the status results from the display
+     * @param chained This is the monitor the command is addressed to
+     * @param prefetched This is the set of commands of the monitor already received through a pipelined send
+     * @param deadline This is the deadline of the poll from {@link System#nanoTime()}, 0 for none
      * @return SamsungMDCStatus This returns the retrieved status results.
      */
-    private SamsungMDCStatus getStatus() throws  Exception{
-        byte[] response = send(SamsungMDCUtils.buildSendString((byte)monitorID,commands.get(commandNames.status)));
-
-        SamsungMDCStatus status = (SamsungMDCStatus)digestResponse(response,commandNames.status);
+    private SamsungMDCStatus getStatus(SamsungMDCMonitor chained, Set<commandNames> prefetched, long deadline) throws  Exception{
+        SamsungMDCStatus status = (SamsungMDCStatus)request(chained, commandNames.status, prefetched, deadline);
 
         if(status == null)
         {
@@ -290,124 +2504,282 @@ public class SamsungMDCDevice extends SocketCommunicator implements Controller,
     }
 
     /**
-     * This method is used to digest the response received from the device
+     * This method is used to get power, volume, mute and input from the display status command
+     * @param chained This is the monitor the command is addressed to
+     * @param prefetched This is the set of commands of the monitor already received through a pipelined send
+     * @param deadline This is the deadline of the poll from {@link System#nanoTime()}, 0 for none
+     * @return SamsungMDCDisplayStatus This returns the retrieved display status.
+     * @throws UnsupportedOperationException if the display answers the command with a NAK
+     */
+    private SamsungMDCDisplayStatus getDisplayStatus(SamsungMDCMonitor chained, Set<commandNames> prefetched, long deadline) throws Exception {
+        SamsungMDCDisplayStatus displayStatus = (SamsungMDCDisplayStatus) request(chained, commandNames.displayStatus, prefetched, deadline);
+
+        if (displayStatus == null || displayStatus.getPower() == null || displayStatus.getInput() == null) {
+            throw new Exception();
+        } else {
+            return displayStatus;
+        }
+    }
+
+    /**
+     * Sends through the SocketCommunicator, counting new connections and read timeouts for the adapter metrics.
+     * No connection is attempted within the reconnect backoff following a failed send, the send fails right away instead.
+     */
+    @Override
+    protected byte[] send(byte[] data) throws Exception {
+        ioLock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            if (!channelOpen && now < reconnectTime) {
+                throw new ConnectException("Reconnect to " + this.host + " port: " + this.getPort() + " backing off for " + (reconnectTime - now) + "ms");
+            }
+
+            sending = true;
+            boolean failed = false;
+            readAborted = false;
+            retrySkipped = false;
+            //the SocketCommunicator read timeout cannot be changed, a read past the deadline is aborted once by closing
+            //the socket, and destroyChannel skips the SocketCommunicator retry of the aborted send
+            long deadline = readDeadline;
+            ScheduledFuture<?> watchdog = null;
+            if (deadline != 0) {
+                abortDeadline = deadline;
+                watchdog = backgroundExecutor.schedule(() -> abortRead(deadline), Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+            try {
+                //empty sends only read the rest of a split response
+                if (wireTrace != null && data.length > 0) {
+                    wireTrace.record(SamsungMDCWireTrace.TX, data);
+                }
+                byte[] response = super.send(data);
+                if (wireTrace != null && response != null) {
+                    wireTrace.record(SamsungMDCWireTrace.RX, response);
+                }
+                if (connectionFailures > 0) {
+                    connectionFailures = 0;
+                    reconnected = true;
+                }
+                lastIoTime = System.currentTimeMillis();
+                return response;
+            } catch (Exception e) {
+                boolean timedOut = e instanceof SocketTimeoutException || readAborted;
+                if (timedOut) {
+                    metrics.timeout();
+                }
+                //a display accepting the connection but never answering is as unusable as one refusing it, an aborted
+                //read only closed the connection to stop waiting and reconnects on the next send without backoff
+                failed = !readAborted && (timedOut || getConnectionStatus().getConnectionState() != ConnectionState.Connected);
+                if (readAborted && !(e instanceof SocketTimeoutException)) {
+                    SocketTimeoutException timeout = new SocketTimeoutException("No response before the deadline: " + this.host + " port: " + this.getPort());
+                    timeout.initCause(e);
+                    throw timeout;
+                }
+                throw e;
+            } finally {
+                if (watchdog != null) {
+                    abortDeadline = 0;
+                    watchdog.cancel(false);
+                }
+                sending = false;
+                if (readAborted && channelOpen) {
+                    //the response arrived as the socket was being closed
+                    destroyChannel();
+                }
+                if (!channelOpen && getConnectionStatus().getConnectionState() == ConnectionState.Connected) {
+                    channelOpen = true;
+                    metrics.connected();
+                }
+                if (failed) {
+                    connectionFailed();
+                }
+            }
+        } finally {
+            ioLock.unlock();
+        }
+    }
+
+    /**
+     * This method is used to abort a send still waiting for its response once its deadline passed. It only closes the
+     * socket, without taking the I/O lock held by the sending thread, whose read then fails.
+     * @param deadline This is the deadline of the send from {@link System#nanoTime()}
+     */
+    private void abortRead(long deadline) {
+        if (abortDeadline == deadline) {
+            readAborted = true;
+            super.destroyChannel();
+        }
+    }
+
+    /**
+     * This method is used to close the connection after a failed send and start the next reconnect backoff,
+     * it must be called with {@link #ioLock} held
+     */
+    private void connectionFailed() {
+        destroyChannel();
+
+        //exponential backoff with equal jitter: between half and all of base * 2^(failures - 1)
+        long backoff = Math.min(reconnectBackoff << Math.min(connectionFailures++, 16), maxReconnectBackoff);
+        reconnectTime = System.currentTimeMillis() + backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+    }
+
+    /**
+     * This method is used to let the next send connect even if the reconnect backoff did not expire
+     */
+    private void allowReconnect() {
+        reconnectTime = 0;
+    }
+
+    /**
+     * This method is used to get the state of the connection to the display
+     * @return connectionStateNames This returns the connection state
+     */
+    private connectionStateNames getConnectionState() {
+        if (channelOpen) {
+            return connectionStateNames.CONNECTED;
+        }
+        return System.currentTimeMillis() < reconnectTime ? connectionStateNames.BACKOFF : connectionStateNames.DISCONNECTED;
+    }
+
+    /**
+     * This method is used to check an idle connection with a power request, so that a dead connection is replaced
+     * in the background rather than by the next poll
+     */
+    private void probeHealth() {
+        if (powerState == powerStateNames.WARMING || System.currentTimeMillis() - lastIoTime < healthProbeInterval) {
+            return;
+        }
+        if (!ioLock.tryLock()) {
+            //a poll or control is using the connection
+            return;
+        }
+        try {
+            request(monitor, commandNames.power, Collections.emptySet());
+        } catch (Exception e) {
+            if (this.logger.isDebugEnabled()) {
+                this.logger.debug("health probe failed: " + this.host + " port: " + this.getPort(), e);
+            }
+            destroyChannel();
+        } finally {
+            ioLock.unlock();
+        }
+    }
+
+    /**
+     * Closes the connection and drops any partially received frame, as its remaining bytes will never arrive.
+     * <p>
+     * A failed SocketCommunicator send (symphony-dal-commons 5.7.0) closes the channel through this method, then
+     * reconnects and sends the same data again, with no other hook in between. After a read aborted by the watchdog,
+     * that one call, made by the sending thread with the I/O lock held, throws instead so that the command is not sent
+     * twice. SamsungMDCSimulatorTest#abortedReadIsNotSentAgain fails if a later version changes that sequence.
+     */
+    @Override
+    public void destroyChannel() {
+        boolean skipRetry;
+        ioLock.lock();
+        try {
+            if (sending && getConnectionStatus().getLastError() instanceof SocketTimeoutException) {
+                //the SocketCommunicator timed out and reconnects for a single retry
+                metrics.timeout();
+            }
+            super.destroyChannel();
+            decoder.reset();
+            connectionGeneration++;
+            if (wireTrace != null) {
+                wireTrace.recordClose();
+            }
+            channelOpen = false;
+            //sending is only true for the thread holding the I/O lock through send
+            skipRetry = sending && readAborted && !retrySkipped;
+            retrySkipped |= skipRetry;
+        } finally {
+            ioLock.unlock();
+        }
+        if (skipRetry) {
+            throw new UncheckedIOException(new SocketTimeoutException("Read aborted: " + this.host + " port: " + this.getPort()));
+        }
+    }
+
+    /**
+     * This method is used to digest the response received from the device. The bytes are appended to the frame decoder,
+     * frames answering other commands or monitor IDs (late or unsolicited ones) are skipped, and the rest of a split frame is read
+     * from the device if needed.
      * @param responseBytes This is the response to be digested
      * @param expectedResponse This is the expected response type to be compared with received
+     * @param monitorID This is the monitor ID the command was addressed to
      * @return Object This returns the result digested from the response.
      */
-    private Object digestResponse(byte[] responseBytes, commandNames expectedResponse){
-        Set set = null;
-
-        //checksum verification
-        byte checksumByte = SamsungMDCUtils.checkSum(java.util.Arrays.copyOfRange(responseBytes,1,responseBytes.length-1));
-
-        if(checksumByte == responseBytes[responseBytes.length-1]){
-            switch (responseBytes[4]){
-                case 'A':
-                {
-                    switch (expectedResponse){
-                        case power:{
-                            if(responseBytes[5] == commands.get(commandNames.power)){
-                                set = powerStatus.entrySet();
-
-                                Iterator iterator = set.iterator();
-                                while(iterator.hasNext()) {
-                                    Map.Entry mentry = (Map.Entry)iterator.next();
-
-                                    if((byte)mentry.getValue() == responseBytes[6]){
-                                        return (Enum)mentry.getKey();
-                                    }
-                                }
-                            }else{
-                                if (this.logger.isErrorEnabled()) {
-                                    this.logger.error("error: Unexpected response: " + this.host + " port: " + this.getPort());
-                                }
-                                throw new RuntimeException("Unexpected response");
-                            }
-                            break;
-                        }case input:{
-                            if(responseBytes[5] == commands.get(commandNames.input)){
-                                set = inputs.entrySet();
-
-                                Iterator iterator = set.iterator();
-                                while(iterator.hasNext()) {
-                                    Map.Entry mentry = (Map.Entry)iterator.next();
-
-                                    if((byte)mentry.getValue() == responseBytes[6]){
-                                        return (Enum)mentry.getKey();
-                                    }
-                                }
-                            }else{
-                                if (this.logger.isErrorEnabled()) {
-                                    this.logger.error("error: Unexpected response: " + this.host + " port: " + this.getPort());
-                                }
-                                throw new RuntimeException("Unexpected response");
-                            }
-                            break;
-                        }case status:{
-                            if(responseBytes[5] == commands.get(commandNames.status)){
-                                return new SamsungMDCStatus(statusCodes.get(responseBytes[6]),
-                                        statusCodes.get(responseBytes[7]),
-                                        statusCodes.get(responseBytes[8]),
-                                        statusCodes.get(responseBytes[9]),
-                                        statusCodes.get(responseBytes[11]),responseBytes[10]);
-                            }else{
-                                if (this.logger.isErrorEnabled()) {
-                                    this.logger.error("error: Unexpected response: " + this.host + " port: " + this.getPort());
-                                }
-                                throw new RuntimeException("Unexpected response");
-                            }
-                        }
+    private Object digestResponse(byte[] responseBytes, commandNames expectedResponse, int monitorID) throws Exception {
+        ioLock.lock();
+        try {
+            decoder.feed(responseBytes);
+            boolean checksumError = false;
+            boolean unexpectedResponse = false;
+            int reads = 0;
+
+            while (true) {
+                if (!decoder.next(frame)) {
+                    if (decoder.hasPartialFrame() && reads++ < MAX_PARTIAL_READS) {
+                        decoder.feed(send(new byte[0]));
+                        continue;
                     }
                     break;
                 }
-                case 'N':
-                {
-                    switch (expectedResponse){
-                        case power:{
-                            if (this.logger.isErrorEnabled()) {
-                                this.logger.error("error: Power command returned NAK: " + this.host + " port: " + this.getPort());
-                            }
-                            throw new RuntimeException("Power command returned NAK");
-                        }case input:{
-                            if(responseBytes[5] == commands.get(commandNames.input)){
-                                set = inputs.entrySet();
-
-                                Iterator iterator = set.iterator();
-                                while(iterator.hasNext()) {
-                                    Map.Entry mentry = (Map.Entry)iterator.next();
-
-                                    if((byte)mentry.getValue() == responseBytes[6]){
-                                        return (Enum)mentry.getKey();
-                                    }
-                                }
-                            }else{
-                                if (this.logger.isErrorEnabled()) {
-                                    this.logger.error("error: Unexpected response: " + this.host + " port: " + this.getPort());
-                                }
-                                throw new RuntimeException("Unexpected response");
-                            }
-                            break;
-                        }
-                    }
-                    break;
-                } default:
-                {
-                    if (this.logger.isErrorEnabled()) {
-                        this.logger.error("error: Nor ACK or NAK received: " + this.host + " port: " + this.getPort());
-                    }
-                    throw new RuntimeException("Nor ACK or NAK received");
+                if (!frame.isChecksumValid()) {
+                    checksumError = true;
+                } else if (frame.getCommand() == SamsungMDCCommand.of(expectedResponse).getCode()
+                        && (frame.getMonitorID() == monitorID || monitorID == BROADCAST_MONITOR_ID)) {
+                    return decodeFrame(frame, expectedResponse);
+                } else {
+                    unexpectedResponse = true;
+                }
+            }
+
+            if (checksumError) {
+                if (this.logger.isErrorEnabled()) {
+                    this.logger.error("error: wrong checksum communicating with: " + this.host + " port: " + this.getPort());
                 }
+                throw new RuntimeException("wrong Checksum received");
+            }
+            if (unexpectedResponse) {
+                if (this.logger.isErrorEnabled()) {
+                    this.logger.error("error: Unexpected response: " + this.host + " port: " + this.getPort());
+                }
+                throw new RuntimeException("Unexpected response");
             }
-        }else{//Wrong checksum
             if (this.logger.isErrorEnabled()) {
-                this.logger.error("error: wrong checksum communicating with: " + this.host + " port: " + this.getPort());
+                this.logger.error("error: Nor ACK or NAK received: " + this.host + " port: " + this.getPort());
             }
-            throw new RuntimeException("wrong Checksum received");
+            throw new RuntimeException("Nor ACK or NAK received");
+        } finally {
+            ioLock.unlock();
+        }
+    }
+
+    /**
+     * This method is used to get the typed result out of a decoded response frame
+     * @param frame This is the frame to be decoded, its checksum was already verified
+     * @param expectedResponse This is the command the frame is answering to
+     * @return Object This returns the result digested from the frame.
+     */
+    private Object decodeFrame(SamsungMDCFrame frame, commandNames expectedResponse) {
+        SamsungMDCCommand command = SamsungMDCCommand.of(expectedResponse);
+        if (frame.isAck()) {
+            return command.decode(frame);
         }
-        if (this.logger.isErrorEnabled()) {
-            this.logger.error("error: End of digestResponse reached without a solution: " + this.host + " port: " + this.getPort());
+        metrics.nak();
+        switch (command.getNak()) {
+            case VALUE:
+                return command.decode(frame);
+            case ABSENT:
+                //not supported by the display
+                return null;
+            case UNSUPPORTED:
+                throw new UnsupportedOperationException(expectedResponse + " command returned NAK");
+            default:
+                if (this.logger.isErrorEnabled()) {
+                    this.logger.error("error: " + expectedResponse + " command returned NAK: " + this.host + " port: " + this.getPort());
+                }
+                throw new RuntimeException(expectedResponse + " command returned NAK");
         }
-        throw new RuntimeException("End of digestResponse reached without a solution");
     }
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.communicator.samsung.mdc;
+
+import java.util.Objects;
+
+import static com.avispl.symphony.dal.communicator.samsung.mdc.SamsungMDCConstants.inputNames;
+import static com.avispl.symphony.dal.communicator.samsung.mdc.SamsungMDCConstants.muteStatusNames;
+import static com.avispl.symphony.dal.communicator.samsung.mdc.SamsungMDCConstants.powerStatusNames;
+
+/**
+ * Result of the display status (0x00) command, which reports power, volume, mute and input in a single frame
+ */
+public class SamsungMDCDisplayStatus {
+    private final powerStatusNames power;
+    private final int volume;
+    private final muteStatusNames mute;
+    private final inputNames input;
+
+    public SamsungMDCDisplayStatus(powerStatusNames power, int volume, muteStatusNames mute, inputNames input){
+        this.power = power;
+        this.volume = volume;
+        this.mute = mute;
+        this.input = input;
+    }
+
+    public powerStatusNames getPower() {
+        return power;
+    }
+
+    public int getVolume() {
+        return volume;
+    }
+
+    public muteStatusNames getMute() {
+        return mute;
+    }
+
+    public inputNames getInput() {
+        return input;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SamsungMDCDisplayStatus)) {
+            return false;
+        }
+        SamsungMDCDisplayStatus that = (SamsungMDCDisplayStatus) o;
+        return volume == that.volume && power == that.power && mute == that.mute && input == that.input;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(power, volume, mute, input);
+    }
+}
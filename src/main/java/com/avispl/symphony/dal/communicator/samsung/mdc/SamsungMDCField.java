@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.communicator.samsung.mdc;
+
+import static com.avispl.symphony.dal.communicator.samsung.mdc.SamsungMDCConstants.fieldTypeNames;
+
+/**
+ * One value of an MDC response layout: its position among the values following the response command, how it is
+ * decoded and the name of the statistic reporting it
+ */
+class SamsungMDCField {
+    //decimal and HEX strings of every byte value, so that decoding a number or an unknown code does not allocate
+    private static final String[] NUMBERS = new String[256];
+    private static final String[] HEX_CODES = new String[256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            NUMBERS[i] = Integer.toString(i);
+            HEX_CODES[i] = String.format("0x%02X", i);
+        }
+    }
+
+    private final String name;
+    private final int offset;
+    private final fieldTypeNames type;
+    //values indexed by unsigned code for ENUM and LABEL fields
+    private final Enum<?>[] table;
+
+    private SamsungMDCField(String name, int offset, fieldTypeNames type, Enum<?>[] table){
+        this.name = name;
+        this.offset = offset;
+        this.type = type;
+        this.table = table;
+    }
+
+    /**
+     * This method is used to declare a field decoded to the value of a lookup table
+     * @param name This is the statistic name
+     * @param offset This is the position of the value
+     * @param table This is the table of values indexed by unsigned code
+     * @return SamsungMDCField This returns the field, decoded to the value or null for an unknown code
+     */
+    static SamsungMDCField enumField(String name, int offset, Enum<?>[] table) {
+        return new SamsungMDCField(name, offset, fieldTypeNames.ENUM, table);
+    }
+
+    /**
+     * This method is used to declare a field decoded to the name of the value of a lookup table
+     * @param name This is the statistic name
+     * @param offset This is the position of the value
+     * @param table This is the table of values indexed by unsigned code
+     * @return SamsungMDCField This returns the field, decoded to the value name or the HEX code for an unknown code
+     */
+    static SamsungMDCField labelField(String name, int offset, Enum<?>[] table) {
+        return new SamsungMDCField(name, offset, fieldTypeNames.LABEL, table);
+    }
+
+    /**
+     * This method is used to declare a field decoded to an unsigned decimal number
+     * @param name This is the statistic name
+     * @param offset This is the position of the value
+     * @return SamsungMDCField This returns the field
+     */
+    static SamsungMDCField numberField(String name, int offset) {
+        return new SamsungMDCField(name, offset, fieldTypeNames.NUMBER, null);
+    }
+
+    /**
+     * This method is used to declare a field decoded to the ASCII string of all the values from its position
+     * @param name This is the statistic name
+     * @param offset This is the position of the first value, only 0 is supported
+     * @return SamsungMDCField This returns the field
+     */
+    static SamsungMDCField textField(String name, int offset) {
+        return new SamsungMDCField(name, offset, fieldTypeNames.TEXT, null);
+    }
+
+    String getName() {
+        return name;
+    }
+
+    int getOffset() {
+        return offset;
+    }
+
+    /**
+     * This method is used to get the raw value of the field
+     * @param frame This is the response frame
+     * @return byte This returns the value byte
+     */
+    byte getValue(SamsungMDCFrame frame) {
+        return frame.getValue(offset);
+    }
+
+    /**
+     * This method is used to decode the field from a response frame
+     * @param frame This is the response frame
+     * @return Object This returns the enum value for ENUM fields, the String for the other types.
+     */
+    Object decode(SamsungMDCFrame frame) {
+        switch (type) {
+            case ENUM:
+                return table[frame.getValue(offset) & 0xFF];
+            case LABEL:
+                Enum<?> value = table[frame.getValue(offset) & 0xFF];
+                return value != null ? value.name() : HEX_CODES[frame.getValue(offset) & 0xFF];
+            case NUMBER:
+                return NUMBERS[frame.getValue(offset) & 0xFF];
+            default:
+                return frame.getText();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.communicator.samsung.mdc;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reusable holder of one decoded MDC response frame: AA FF ID length A/N r-cmd values... checksum
+ */
+class SamsungMDCFrame {
+
+    //the length byte covers the ACK/NAK byte and the response command, leaving up to 253 values
+    private final byte[] values = new byte[253];
+    private int valueCount;
+    private int monitorID;
+    private boolean ack;
+    private byte command;
+    private boolean checksumValid;
+
+    /**
+     * This method is used to fill the frame from the decoder buffer
+     * @param monitorID This is the ID of the monitor that answered
+     * @param ack This is true for an ACK ('A') response and false for a NAK ('N') response
+     * @param command This is the command the display is answering to
+     * @param checksumValid This is the result of the checksum verification, false as well for an ACK/NAK byte that is neither
+     * @param source This is the array holding the values
+     * @param offset This is the position of the first value in the source array
+     * @param count This is the number of values
+     */
+    void set(int monitorID, boolean ack, byte command, boolean checksumValid, byte[] source, int offset, int count) {
+        this.monitorID = monitorID;
+        this.ack = ack;
+        this.command = command;
+        this.checksumValid = checksumValid;
+        this.valueCount = count;
+        System.arraycopy(source, offset, values, 0, count);
+    }
+
+    /**
+     * This method is used to copy another frame into this one
+     * @param other This is the frame to be copied
+     */
+    void copyFrom(SamsungMDCFrame other) {
+        set(other.monitorID, other.ack, other.command, other.checksumValid, other.values, 0, other.valueCount);
+    }
+
+    int getMonitorID() {
+        return monitorID;
+    }
+
+    boolean isAck() {
+        return ack;
+    }
+
+    byte getCommand() {
+        return command;
+    }
+
+    boolean isChecksumValid() {
+        return checksumValid;
+    }
+
+    int getValueCount() {
+        return valueCount;
+    }
+
+    /**
+     * This method is used to get one of the values following the response command
+     * @param index This is the position of the value, 0 being the first byte after the response command
+     * @return byte This returns the value at the given position.
+     */
+    byte getValue(int index) {
+        if (index >= valueCount) {
+            throw new RuntimeException("Response too short, value " + index + " not received");
+        }
+        return values[index];
+    }
+
+    /**
+     * This method is used to read the values as an ASCII string, such as a serial number or a model name
+     * @return String This returns the values without trailing NUL and space padding
+     */
+    String getText() {
+        int end = valueCount;
+        while (end > 0 && (values[end - 1] == 0 || values[end - 1] == ' ')) {
+            end--;
+        }
+        return new String(values, 0, end, StandardCharsets.US_ASCII);
+    }
+}
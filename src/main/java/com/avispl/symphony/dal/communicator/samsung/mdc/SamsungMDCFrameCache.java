@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.communicator.samsung.mdc;
+
+import java.nio.ByteBuffer;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.avispl.symphony.dal.communicator.samsung.mdc.SamsungMDCConstants.commandNames;
+import static com.avispl.symphony.dal.communicator.samsung.mdc.SamsungMDCConstants.inputsByCode;
+import static com.avispl.symphony.dal.communicator.samsung.mdc.SamsungMDCConstants.powerStatusByCode;
+
+/**
+ * Cache of the frames sent to one monitor ID: every get command and every set command with a single byte parameter
+ * from the protocol tables (power, input), built with the cache, and the concatenated requests of pipelined polls,
+ * built on first use. Each monitor of an adapter builds its own cache. Cached frames are never modified: they are
+ * either written by the cache into a request buffer or lent to a {@link FrameWriter} for the duration of a write.
+ */
+class SamsungMDCFrameCache {
+
+    /**
+     * Writes cached frames to the connection, without modifying nor keeping the array it is lent
+     */
+    interface FrameWriter<T> {
+        T write(byte[] frames) throws Exception;
+    }
+
+    private final byte monitorID;
+    //get frames indexed by command ordinal
+    private final byte[][] getFrames = new byte[commandNames.values().length][];
+    //single byte parameter set frames indexed by command ordinal then unsigned parameter
+    private final byte[][][] setFrames = new byte[commandNames.values().length][][];
+    private final Map<Set<commandNames>, byte[]> batches = new ConcurrentHashMap<>();
+
+    SamsungMDCFrameCache(int monitorID) {
+        this.monitorID = (byte) monitorID;
+
+        for (commandNames command : commandNames.values()) {
+            getFrames[command.ordinal()] = SamsungMDCUtils.buildSendString(this.monitorID, SamsungMDCCommand.of(command).getCode());
+        }
+        cacheSetFrames(commandNames.power, powerStatusByCode);
+        cacheSetFrames(commandNames.input, inputsByCode);
+    }
+
+    /**
+     * This method is used to write the get request of a command without copying it
+     * @param command This is the command to be requested
+     * @param writer This is the writer the cached frame is lent to
+     * @return T This returns the result of the writer
+     */
+    <T> T writeFrame(commandNames command, FrameWriter<T> writer) throws Exception {
+        return writer.write(getFrames[command.ordinal()]);
+    }
+
+    /**
+     * This method is used to write the get request of a command
+     * @param target This is the buffer the frame is written to, starting at its current position
+     * @param command This is the command to be requested
+     */
+    void putFrame(ByteBuffer target, commandNames command) {
+        target.put(getFrames[command.ordinal()]);
+    }
+
+    /**
+     * This method is used to write the set request of a command with a single byte parameter, built on the fly for
+     * parameters outside the protocol tables
+     * @param target This is the buffer the frame is written to, starting at its current position
+     * @param command This is the command to be sent
+     * @param param This is the parameter value
+     */
+    void putSetFrame(ByteBuffer target, commandNames command, byte param) {
+        byte[][] frames = setFrames[command.ordinal()];
+        if (frames != null && frames[param & 0xFF] != null) {
+            target.put(frames[param & 0xFF]);
+        } else {
+            SamsungMDCUtils.writeSendString(target, monitorID, SamsungMDCCommand.of(command).getCode(), new byte[]{param});
+        }
+    }
+
+    /**
+     * This method is used to write the concatenated get requests of several commands without copying them
+     * @param batch This is the set of commands to be requested
+     * @param writer This is the writer the cached frames are lent to
+     * @return T This returns the result of the writer
+     */
+    <T> T writeBatch(Set<commandNames> batch, FrameWriter<T> writer) throws Exception {
+        return writer.write(batchFrames(batch));
+    }
+
+    /**
+     * This method is used to write the concatenated get requests of several commands
+     * @param target This is the buffer the frames are written to, starting at its current position
+     * @param batch This is the set of commands to be requested
+     */
+    void putBatch(ByteBuffer target, Set<commandNames> batch) {
+        target.put(batchFrames(batch));
+    }
+
+    /**
+     * This method is used to get the cached concatenated get requests of several commands, written in a single pass on first use
+     * @param batch This is the set of commands to be requested
+     * @return byte[] This returns the cached frames, which must not be modified
+     */
+    private byte[] batchFrames(Set<commandNames> batch) {
+        byte[] frames = batches.get(batch);
+
+        if (frames == null) {
+            ByteBuffer buffer = ByteBuffer.allocate(batch.size() * SamsungMDCUtils.sendStringLength(null));
+            for (commandNames command : batch) {
+                buffer.put(getFrames[command.ordinal()]);
+            }
+            frames = buffer.array();
+            //the caller may reuse its set, keep a copy as key
+            batches.putIfAbsent(batch.isEmpty() ? EnumSet.noneOf(commandNames.class) : EnumSet.copyOf(batch), frames);
+        }
+        return frames;
+    }
+
+    /**
+     * This method is used to cache the set frames of every value of a protocol table
+     * @param command This is the set command
+     * @param values This is the table of values accepted by the command, indexed by unsigned HEX code
+     */
+    private void cacheSetFrames(commandNames command, Object[] values) {
+        byte[][] frames = new byte[256][];
+        byte code = SamsungMDCCommand.of(command).getCode();
+        for (int value = 0; value < values.length; value++) {
+            if (values[value] != null) {
+                frames[value] = SamsungMDCUtils.buildSendString(monitorID, code, new byte[]{(byte) value});
+            }
+        }
+        setFrames[command.ordinal()] = frames;
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.communicator.samsung.mdc;
+
+import java.nio.ByteBuffer;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Stateful decoder of MDC response frames. Bytes received from the display are accumulated in a reusable buffer,
+ * so split reads, concatenated (pipelined) responses and unsolicited frames are all handled without allocation.
+ */
+class SamsungMDCFrameDecoder {
+
+    //response type byte following the header
+    private final static byte RESPONSE = (byte)0xFF;
+    //acknowledgement byte of a response
+    private final static byte ACK = 'A';
+    private final static byte NAK = 'N';
+    //header, response type, monitor ID and length byte
+    private final static int FRAME_HEADER_SIZE = 4;
+    //largest response: header, up to 255 bytes of data and checksum
+    final static int MAX_FRAME_SIZE = FRAME_HEADER_SIZE + 255 + 1;
+    //the buffer grows to hold the responses of a whole pipelined batch, up to this size
+    final static int MAX_BUFFER_SIZE = MAX_FRAME_SIZE * 256;
+
+    private static final Log LOG = LogFactory.getLog(SamsungMDCFrameDecoder.class);
+    private ByteBuffer buffer = ByteBuffer.allocate(MAX_FRAME_SIZE * 4);
+    //incremented under the adapter I/O lock, read when reporting the adapter metrics
+    private volatile long checksumErrors;
+
+    /**
+     * This method is used to append received bytes to the decoder buffer, growing it as needed.
+     * Only past {@link #MAX_BUFFER_SIZE} are the oldest bytes dropped, and the drop is logged.
+     * @param bytes This is the array holding the received bytes
+     * @param offset This is the position of the first received byte
+     * @param length This is the number of received bytes
+     */
+    void feed(byte[] bytes, int offset, int length) {
+        if (length > buffer.remaining()) {
+            grow(buffer.position() + length);
+        }
+        if (length > buffer.remaining()) {
+            if (LOG.isWarnEnabled()) {
+                LOG.warn("Response buffer overflow, dropping " + (buffer.position() + length - buffer.capacity()) + " bytes");
+            }
+            if (length > buffer.capacity()) {
+                offset += length - buffer.capacity();
+                length = buffer.capacity();
+            }
+            discard(length - buffer.remaining());
+        }
+        buffer.put(bytes, offset, length);
+    }
+
+    /**
+     * This method is used to append received bytes to the decoder buffer
+     * @param bytes This is the array of received bytes
+     */
+    void feed(byte[] bytes) {
+        feed(bytes, 0, bytes.length);
+    }
+
+    /**
+     * This method is used to decode the next complete frame of the buffer. Frames failing the checksum are returned
+     * as well, flagged as invalid, and the decoder resynchronizes on the following header. So are frames whose
+     * acknowledgement byte is neither ACK nor NAK, skipped whole since their length passed the checksum.
+     * @param frame This is the frame to be filled
+     * @return boolean This returns true if a frame was decoded, false if more bytes are needed.
+     */
+    boolean next(SamsungMDCFrame frame) {
+        byte[] array = buffer.array();
+        int end = buffer.position();
+        int start = 0;
+
+        while (true) {
+            while (start < end && array[start] != SamsungMDCUtils.HEADER) {
+                start++;
+            }
+            if (start + FRAME_HEADER_SIZE > end) {
+                discard(start);
+                return false;
+            }
+
+            int length = array[start + 3] & 0xFF;
+            if (array[start + 1] == RESPONSE && length >= 2) {
+                int checksumPosition = start + FRAME_HEADER_SIZE + length;
+                if (checksumPosition >= end) {
+                    discard(start);
+                    return false;
+                }
+
+                boolean checksumValid = SamsungMDCUtils.checkSum(array, start + 1, checksumPosition - start - 1) == array[checksumPosition];
+                byte acknowledgement = array[start + 4];
+
+                frame.set(array[start + 2] & 0xFF, acknowledgement == ACK, array[start + 5],
+                        checksumValid && (acknowledgement == ACK || acknowledgement == NAK), array, start + 6, length - 2);
+                if (checksumValid) {
+                    discard(checksumPosition + 1);
+                } else {
+                    //the length byte may be corrupted as well, resynchronize right after this header
+                    checksumErrors++;
+                    discard(start + 1);
+                }
+                return true;
+            }
+
+            //a 0xAA data byte, not a frame header
+            start++;
+        }
+    }
+
+    /**
+     * This method is used to know if the buffer holds the beginning of a frame that is not complete yet
+     * @return boolean This returns true if bytes are waiting for the rest of their frame.
+     */
+    boolean hasPartialFrame() {
+        return buffer.position() > 0;
+    }
+
+    /**
+     * Retrieves {@link #checksumErrors}
+     *
+     * @return value of {@link #checksumErrors}
+     */
+    long getChecksumErrors() {
+        return checksumErrors;
+    }
+
+    /**
+     * This method is used to drop all buffered bytes, typically when the connection is closed
+     */
+    void reset() {
+        buffer.clear();
+    }
+
+    /**
+     * This method is used to enlarge the buffer, keeping its content, up to {@link #MAX_BUFFER_SIZE}
+     * @param size This is the number of bytes the buffer should hold
+     */
+    private void grow(int size) {
+        int capacity = buffer.capacity();
+        while (capacity < size && capacity < MAX_BUFFER_SIZE) {
+            capacity = Math.min(capacity * 2, MAX_BUFFER_SIZE);
+        }
+        if (capacity == buffer.capacity()) {
+            return;
+        }
+        buffer.flip();
+        buffer = ByteBuffer.allocate(capacity).put(buffer);
+    }
+
+    /**
+     * This method is used to remove bytes from the beginning of the buffer
+     * @param count This is the number of bytes to be removed
+     */
+    private void discard(int count) {
+        if (count == 0) {
+            return;
+        }
+        buffer.flip();
+        buffer.position(Math.min(count, buffer.limit()));
+        buffer.compact();
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.communicator.samsung.mdc;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.avispl.symphony.dal.communicator.samsung.mdc.SamsungMDCConstants.*;
+
+/**
+ * Outcome of a control sent to a group of monitor IDs or to the broadcast ID: the control, and the state of each member
+ * as found by the verification poll that follows it
+ */
+class SamsungMDCGroupControlReport {
+    private final String control;
+    private final commandNames command;
+    private final byte value;
+    private final long sentTime;
+    private final Map<Integer, groupMemberStatusNames> results = new LinkedHashMap<>();
+    private long verifiedTime;
+
+    SamsungMDCGroupControlReport(String control, commandNames command, byte value, List<Integer> memberIDs, long sentTime){
+        this.control = control;
+        this.command = command;
+        this.value = value;
+        this.sentTime = sentTime;
+
+        for (Integer memberID : memberIDs) {
+            results.put(memberID, groupMemberStatusNames.PENDING);
+        }
+    }
+
+    commandNames getCommand() {
+        return command;
+    }
+
+    byte getValue() {
+        return value;
+    }
+
+    /**
+     * This method is used to get the members still to be verified
+     * @return List<Integer> This returns the monitor IDs of the members whose status is PENDING
+     */
+    synchronized List<Integer> getPendingIDs() {
+        List<Integer> pending = new ArrayList<>();
+        results.forEach((memberID, status) -> {
+            if (status == groupMemberStatusNames.PENDING) {
+                pending.add(memberID);
+            }
+        });
+        return pending;
+    }
+
+    /**
+     * This method is used to record the status of a member
+     * @param memberID This is the monitor ID of the member
+     * @param status This is the status of the member
+     */
+    synchronized void setResult(int memberID, groupMemberStatusNames status) {
+        results.put(memberID, status);
+    }
+
+    /**
+     * This method is used to record the end of the verification poll
+     * @param verifiedTime This is the time in ms at which the last member was verified
+     */
+    synchronized void verified(long verifiedTime) {
+        this.verifiedTime = verifiedTime;
+    }
+
+    /**
+     * This method is used to add the report to the statistics
+     * @param statistics This is the map of statistics to be filled
+     */
+    synchronized void putStatistics(Map<String, String> statistics) {
+        statistics.put(GROUP_CONTROL_GROUP + groupControlNames.control.name(), control);
+
+        int confirmed = 0;
+        for (Map.Entry<Integer, groupMemberStatusNames> entry : results.entrySet()) {
+            statistics.put(GROUP_CONTROL_GROUP + MONITOR_GROUP + entry.getKey(), entry.getValue().name().replaceAll("_", " "));
+            if (entry.getValue() == groupMemberStatusNames.OK) {
+                confirmed++;
+            }
+        }
+
+        if (verifiedTime > 0) {
+            statistics.put(GROUP_CONTROL_GROUP + groupControlNames.confirmed.name(), confirmed + "/" + results.size());
+            statistics.put(GROUP_CONTROL_GROUP + groupControlNames.duration.name() + " (ms)", Long.toString(verifiedTime - sentTime));
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.communicator.samsung.mdc;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Historical statistics of one adapter: numeric values of the historical properties are recorded in a ring buffer
+ * per statistic, reported upstream as dynamic statistics only when they change, and summarized over a time window
+ */
+class SamsungMDCHistory {
+    private final Map<String, SamsungMDCTimeSeries> series = new HashMap<>();
+    private int size = 60;
+    private long window = 300000;
+
+    /**
+     * Retrieves {@link #size}
+     *
+     * @return value of {@link #size}
+     */
+    synchronized int getSize() {
+        return size;
+    }
+
+    /**
+     * Sets {@link #size} value, the number of samples kept per statistic, dropping the samples recorded so far
+     *
+     * @param size new value of {@link #size}
+     */
+    synchronized void setSize(int size) {
+        this.size = Math.max(1, size);
+        series.clear();
+    }
+
+    /**
+     * Retrieves {@link #window}
+     *
+     * @return value of {@link #window}
+     */
+    synchronized long getWindow() {
+        return window;
+    }
+
+    /**
+     * Sets {@link #window} value, the time in ms summarized by the min, max and average, after which an unchanged
+     * value is also sent again
+     *
+     * @param window new value of {@link #window}
+     */
+    synchronized void setWindow(long window) {
+        this.window = window;
+    }
+
+    /**
+     * This method is used to move the historical properties of a poll out of the statistics. Each numeric value read
+     * by the poll is recorded and added to the dynamic statistics if it changed since last sent, while values reported
+     * from earlier polls (cached, skipped, in standby) are not recorded again. Every value with a history is replaced in
+     * the statistics by its min, max and average over the window. Statistics are matched by name without their group.
+     * @param statistics This is the map of statistics of the poll
+     * @param dynamicStatistics This is the map of dynamic statistics to be filled
+     * @param historicalProperties This is the set of historical property names
+     * @param read This is the set of statistic names read by the poll
+     * @param now This is the time of the poll
+     */
+    synchronized void apply(Map<String, String> statistics, Map<String, String> dynamicStatistics, Set<String> historicalProperties,
+                            Set<String> read, long now) {
+        if (historicalProperties.isEmpty()) {
+            return;
+        }
+
+        List<String> names = new ArrayList<>();
+        for (String name : statistics.keySet()) {
+            if (historicalProperties.contains(name.substring(name.indexOf('#') + 1))) {
+                names.add(name);
+            }
+        }
+
+        for (String name : names) {
+            String text = statistics.get(name);
+            double value;
+            try {
+                value = Double.parseDouble(text);
+            } catch (NumberFormatException e) {
+                //only numeric values have a history, others stay regular statistics
+                continue;
+            }
+
+            SamsungMDCTimeSeries samples;
+            if (read.contains(name)) {
+                samples = series.computeIfAbsent(name, key -> new SamsungMDCTimeSeries(size));
+                samples.add(now, value);
+                if (samples.emit(now, value, window)) {
+                    dynamicStatistics.put(name, text);
+                }
+            } else {
+                samples = series.get(name);
+                if (samples == null) {
+                    //no sample recorded since the history was reset, the value stays a regular statistic
+                    continue;
+                }
+            }
+            //a value from an earlier poll stays a regular statistic once its samples left the window
+            if (samples.aggregate(now, window)) {
+                statistics.remove(name);
+                statistics.put(name + " min", format(samples.getMin()));
+                statistics.put(name + " max", format(samples.getMax()));
+                statistics.put(name + " avg", format(samples.getAvg()));
+            }
+        }
+    }
+
+    /**
+     * This method is used to format a value with at most one decimal
+     * @param value This is the value
+     * @return String This returns the formatted value
+     */
+    private static String format(double value) {
+        long tenths = Math.round(value * 10);
+        return tenths % 10 == 0 ? Long.toString(tenths / 10) : Double.toString(tenths / 10.0);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.communicator.samsung.mdc;
+
+import java.util.Map;
+import java.util.Objects;
+
+import static com.avispl.symphony.dal.communicator.samsung.mdc.SamsungMDCConstants.identityNames;
+
+/**
+ * Static identity of a display: serial number, software version, model name and model code, null when the display
+ * does not support the command
+ */
+class SamsungMDCIdentity {
+    private final String serialNumber;
+    private final String softwareVersion;
+    private final String modelName;
+    private final String modelCode;
+
+    SamsungMDCIdentity(String serialNumber, String softwareVersion, String modelName, String modelCode){
+        this.serialNumber = serialNumber;
+        this.softwareVersion = softwareVersion;
+        this.modelName = modelName;
+        this.modelCode = modelCode;
+    }
+
+    String getSerialNumber() {
+        return serialNumber;
+    }
+
+    String getSoftwareVersion() {
+        return softwareVersion;
+    }
+
+    String getModelName() {
+        return modelName;
+    }
+
+    String getModelCode() {
+        return modelCode;
+    }
+
+    /**
+     * This method is used to add the known identity properties to the statistics
+     * @param statistics This is the map of statistics to be filled
+     * @param group This is the prefix of the monitor properties, empty when a single monitor is polled
+     */
+    void putStatistics(Map<String, String> statistics, String group) {
+        put(statistics, group, identityNames.serial_number, serialNumber);
+        put(statistics, group, identityNames.software_version, softwareVersion);
+        put(statistics, group, identityNames.model_name, modelName);
+        put(statistics, group, identityNames.model_code, modelCode);
+    }
+
+    /**
+     * This method is used to add one identity property to the statistics if it is known
+     * @param statistics This is the map of statistics to be filled
+     * @param group This is the prefix of the monitor properties
+     * @param name This is the property
+     * @param value This is the value, null if unknown
+     */
+    private static void put(Map<String, String> statistics, String group, identityNames name, String value) {
+        if (value != null) {
+            statistics.put(group + name.name().replaceAll("_", " "), value);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SamsungMDCIdentity)) {
+            return false;
+        }
+        SamsungMDCIdentity that = (SamsungMDCIdentity) o;
+        return Objects.equals(serialNumber, that.serialNumber) && Objects.equals(softwareVersion, that.softwareVersion)
+                && Objects.equals(modelName, that.modelName) && Objects.equals(modelCode, that.modelCode);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(serialNumber, softwareVersion, modelName, modelCode);
+    }
+}
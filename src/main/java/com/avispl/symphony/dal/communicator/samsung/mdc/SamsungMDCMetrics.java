@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.communicator.samsung.mdc;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.avispl.symphony.dal.communicator.samsung.mdc.SamsungMDCConstants.*;
+
+/**
+ * Latency histograms per command and control, and error counters of one adapter since it was created,
+ * reported in the AdapterMetrics group of the statistics
+ */
+class SamsungMDCMetrics {
+    private final Map<commandNames, SamsungMDCLatencyHistogram> commandLatencies = new EnumMap<>(commandNames.class);
+    private final SamsungMDCLatencyHistogram controlLatency = new SamsungMDCLatencyHistogram();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder naks = new LongAdder();
+    private final LongAdder reconnects = new LongAdder();
+    private final AtomicBoolean connectedOnce = new AtomicBoolean();
+
+    SamsungMDCMetrics() {
+        for (commandNames command : commandNames.values()) {
+            commandLatencies.put(command, new SamsungMDCLatencyHistogram());
+        }
+    }
+
+    /**
+     * This method is used to record the round trip of a get command
+     * @param command This is the command
+     * @param nanos This is the time in ns from the write to the response, or to the failure
+     */
+    void recordCommand(commandNames command, long nanos) {
+        commandLatencies.get(command).record(nanos / 1000);
+    }
+
+    /**
+     * This method is used to record the round trip of a control
+     * @param nanos This is the time in ns from the write to the response, or to the failure
+     */
+    void recordControl(long nanos) {
+        controlLatency.record(nanos / 1000);
+    }
+
+    /**
+     * This method is used to count a socket read timeout
+     */
+    void timeout() {
+        timeouts.increment();
+    }
+
+    /**
+     * This method is used to count a NAK response
+     */
+    void nak() {
+        naks.increment();
+    }
+
+    /**
+     * This method is used to count a new connection to the display, the first one is not a reconnect
+     */
+    void connected() {
+        if (!connectedOnce.compareAndSet(false, true)) {
+            reconnects.increment();
+        }
+    }
+
+    /**
+     * This method is used to add the metrics to the statistics
+     * @param statistics This is the map of statistics to be filled
+     * @param checksumErrors This is the number of frames received with a wrong checksum
+     */
+    void putStatistics(Map<String, String> statistics, long checksumErrors) {
+        for (Map.Entry<commandNames, SamsungMDCLatencyHistogram> entry : commandLatencies.entrySet()) {
+            putLatency(statistics, entry.getKey().name(), entry.getValue());
+        }
+        putLatency(statistics, adapterMetricNames.control.name(), controlLatency);
+
+        statistics.put(ADAPTER_METRICS_GROUP + adapterMetricNames.timeouts.name(), Long.toString(timeouts.sum()));
+        statistics.put(ADAPTER_METRICS_GROUP + adapterMetricNames.naks.name(), Long.toString(naks.sum()));
+        statistics.put(ADAPTER_METRICS_GROUP + adapterMetricNames.checksum_errors.name().replaceAll("_", " "), Long.toString(checksumErrors));
+        statistics.put(ADAPTER_METRICS_GROUP + adapterMetricNames.reconnects.name(), Long.toString(reconnects.sum()));
+    }
+
+    /**
+     * This method is used to add the count, p50, p95 and max latency in ms of a histogram to the statistics
+     * @param statistics This is the map of statistics to be filled
+     * @param name This is the name of the command
+     * @param histogram This is the histogram
+     */
+    private static void putLatency(Map<String, String> statistics, String name, SamsungMDCLatencyHistogram histogram) {
+        long count = histogram.getCount();
+        if (count == 0) {
+            return;
+        }
+        String prefix = ADAPTER_METRICS_GROUP + name + " ";
+        statistics.put(prefix + "count", Long.toString(count));
+        statistics.put(prefix + "p50 (ms)", millis(histogram.getPercentile(50)));
+        statistics.put(prefix + "p95 (ms)", millis(histogram.getPercentile(95)));
+        statistics.put(prefix + "max (ms)", millis(histogram.getMax()));
+    }
+
+    /**
+     * This method is used to format microseconds as milliseconds with one decimal
+     * @param micros This is the value in microseconds
+     * @return String This returns the formatted milliseconds
+     */
+    private static String millis(long micros) {
+        return (micros / 1000) + "." + (micros % 1000 / 100);
+    }
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.communicator.samsung.mdc;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.avispl.symphony.dal.communicator.samsung.mdc.SamsungMDCConstants.commandNames;
+import static com.avispl.symphony.dal.communicator.samsung.mdc.SamsungMDCConstants.inputNames;
+import static com.avispl.symphony.dal.communicator.samsung.mdc.SamsungMDCConstants.powerStatusNames;
+
+/**
+ * Poll state of one monitor ID reached through the adapter connection, either the only display or one display
+ * of a daisy chain. Written by the polls, which the adapter runs one at a time under its poll lock. The frames and
+ * round trips are written under the adapter I/O lock, and controls expire commands from any thread.
+ */
+class SamsungMDCMonitor {
+    //a failed command is retried on the next poll, then after 15s, 30s, 60s... up to 5 minutes
+    private static final long RETRY_BACKOFF_BASE = 15000;
+    private static final long MAX_RETRY_BACKOFF = 300000;
+
+    private final int monitorID;
+    //request frames of the monitor ID, built along with the monitor when the monitor IDs are set
+    private final SamsungMDCFrameCache frameCache;
+    //per command frames kept from a pipelined send
+    private final Map<commandNames, SamsungMDCFrame> frames = new EnumMap<>(commandNames.class);
+    private final SamsungMDCRoundTrips roundTrips = new SamsungMDCRoundTrips();
+
+    //last known good results and the time they were read, indexed by command ordinal, reused while a command is not due
+    //or failing, failing commands are retried once retryTimes is reached
+    private final long[] lastPollTimes = new long[commandNames.values().length];
+    private final int[] failureCounts = new int[commandNames.values().length];
+    private final long[] retryTimes = new long[commandNames.values().length];
+    //commands due on the next poll whatever their poll interval, expired by controls while a poll may be running
+    private final Set<commandNames> expired = ConcurrentHashMap.newKeySet();
+    private powerStatusNames lastPower;
+    private SamsungMDCStatus lastStatus;
+    private inputNames lastInput;
+    private SamsungMDCDisplayStatus lastDisplayStatus;
+    //decoded values of the single value commands, and the commands the display answered NAK to, indexed by command ordinal
+    private final Object[] lastValues = new Object[commandNames.values().length];
+    private final boolean[] unsupported = new boolean[commandNames.values().length];
+    //incremented whenever one of the last known results changes, so that an unchanged state can reuse the previous statistics
+    private long version;
+    //identity read through the connection of the given generation, read again on a new connection or once expired
+    private SamsungMDCIdentity identity;
+    private long identityTime;
+    private long identityConnection = -1;
+    private volatile boolean displayStatusSupported = true;
+    //true while the monitor is OFF and only power is polled, the other results are kept from before it turned OFF
+    private boolean standby;
+
+    SamsungMDCMonitor(int monitorID){
+        this.monitorID = monitorID;
+        this.frameCache = new SamsungMDCFrameCache(monitorID);
+
+        for (commandNames command : commandNames.values()) {
+            frames.put(command, new SamsungMDCFrame());
+        }
+    }
+
+    int getMonitorID() {
+        return monitorID;
+    }
+
+    SamsungMDCFrameCache getFrameCache() {
+        return frameCache;
+    }
+
+    /**
+     * This method is used to get the slot holding the response of a command received through a pipelined send
+     * @param command This is the command
+     * @return SamsungMDCFrame This returns the frame of the command
+     */
+    SamsungMDCFrame getFrame(commandNames command) {
+        return frames.get(command);
+    }
+
+    SamsungMDCRoundTrips getRoundTrips() {
+        return roundTrips;
+    }
+
+    powerStatusNames getLastPower() {
+        return lastPower;
+    }
+
+    void setLastPower(powerStatusNames lastPower) {
+        if (this.lastPower != lastPower) {
+            version++;
+        }
+        this.lastPower = lastPower;
+    }
+
+    SamsungMDCStatus getLastStatus() {
+        return lastStatus;
+    }
+
+    void setLastStatus(SamsungMDCStatus lastStatus) {
+        //status instances are shared per combination of values, a different instance is a different status
+        if (this.lastStatus != lastStatus) {
+            version++;
+        }
+        this.lastStatus = lastStatus;
+    }
+
+    inputNames getLastInput() {
+        return lastInput;
+    }
+
+    void setLastInput(inputNames lastInput) {
+        if (this.lastInput != lastInput) {
+            version++;
+        }
+        this.lastInput = lastInput;
+    }
+
+    SamsungMDCDisplayStatus getLastDisplayStatus() {
+        return lastDisplayStatus;
+    }
+
+    void setLastDisplayStatus(SamsungMDCDisplayStatus lastDisplayStatus) {
+        if (!Objects.equals(this.lastDisplayStatus, lastDisplayStatus)) {
+            version++;
+        }
+        this.lastDisplayStatus = lastDisplayStatus;
+    }
+
+    /**
+     * This method is used to get the last known value of a single value command
+     * @param command This is the command
+     * @return Object This returns the decoded value, null if never read
+     */
+    Object getLastValue(commandNames command) {
+        return lastValues[command.ordinal()];
+    }
+
+    /**
+     * This method is used to keep the value read for a single value command
+     * @param command This is the command
+     * @param lastValue This is the decoded value
+     */
+    void setLastValue(commandNames command, Object lastValue) {
+        if (!Objects.equals(lastValues[command.ordinal()], lastValue)) {
+            version++;
+        }
+        lastValues[command.ordinal()] = lastValue;
+    }
+
+    boolean isSupported(commandNames command) {
+        return !unsupported[command.ordinal()];
+    }
+
+    /**
+     * This method is used to stop polling a command the display answered NAK to, its last known value is dropped
+     * @param command This is the command
+     */
+    void setUnsupported(commandNames command) {
+        unsupported[command.ordinal()] = true;
+        setLastValue(command, null);
+    }
+
+    /**
+     * Retrieves {@link #version}
+     *
+     * @return value of {@link #version}
+     */
+    long getVersion() {
+        return version;
+    }
+
+    SamsungMDCIdentity getIdentity() {
+        return identity;
+    }
+
+    /**
+     * This method is used to keep the identity read from the display
+     * @param identity This is the identity
+     * @param connection This is the generation of the connection it was read through
+     * @param now This is the time of the read
+     */
+    void setIdentity(SamsungMDCIdentity identity, long connection, long now) {
+        if (!Objects.equals(this.identity, identity)) {
+            version++;
+        }
+        this.identity = identity;
+        this.identityConnection = connection;
+        this.identityTime = now;
+    }
+
+    /**
+     * This method is used to know if the identity has to be read
+     * @param connection This is the generation of the current connection
+     * @param now This is the time of the current poll
+     * @param ttl This is the time in ms after which the identity is read again on the same connection
+     * @return boolean This returns true if the identity was never read, was read through another connection or expired.
+     */
+    boolean isIdentityDue(long connection, long now, long ttl) {
+        return identity == null || identityConnection != connection || now - identityTime >= ttl;
+    }
+
+    boolean isDisplayStatusSupported() {
+        return displayStatusSupported;
+    }
+
+    void setDisplayStatusSupported(boolean displayStatusSupported) {
+        this.displayStatusSupported = displayStatusSupported;
+    }
+
+    boolean isStandby() {
+        return standby;
+    }
+
+    void setStandby(boolean standby) {
+        if (this.standby != standby) {
+            version++;
+        }
+        this.standby = standby;
+    }
+
+    /**
+     * This method is used to know if a command has to be sent by the current poll
+     * @param command This is the polled command
+     * @param now This is the time of the current poll
+     * @param pollInterval This is the poll interval of the command in ms
+     * @return boolean This returns true if the command was never read, was expired or its poll interval elapsed.
+     */
+    boolean isDue(commandNames command, long now, long pollInterval) {
+        if (expired.contains(command)) {
+            return true;
+        }
+        if (failureCounts[command.ordinal()] > 0) {
+            return now >= retryTimes[command.ordinal()];
+        }
+        long lastPollTime = lastPollTimes[command.ordinal()];
+        return lastPollTime == 0 || now - lastPollTime >= pollInterval;
+    }
+
+    /**
+     * This method is used to record a successful read of a command
+     * @param command This is the command that was read
+     * @param now This is the time of the current poll
+     */
+    void markPolled(commandNames command, long now) {
+        lastPollTimes[command.ordinal()] = now;
+        failureCounts[command.ordinal()] = 0;
+        expired.remove(command);
+    }
+
+    /**
+     * This method is used to read a command on the next poll, its last result being outdated
+     * @param command This is the command
+     */
+    void expire(commandNames command) {
+        expired.add(command);
+    }
+
+    /**
+     * This method is used to record a failed read of a command and compute when it should be retried
+     * @param command This is the command that failed
+     * @param now This is the time of the current poll
+     */
+    void markFailed(commandNames command, long now) {
+        int failures = ++failureCounts[command.ordinal()];
+        expired.remove(command);
+        long backoff = failures == 1 ? 0 : Math.min(RETRY_BACKOFF_BASE << Math.min(failures - 2, 16), MAX_RETRY_BACKOFF);
+        retryTimes[command.ordinal()] = now + backoff;
+    }
+
+    /**
+     * This method is used to retry every failing command on the next poll
+     */
+    void clearRetries() {
+        Arrays.fill(retryTimes, 0);
+    }
+
+    /**
+     * This method is used to know if every polled command is failing
+     * @param polled This is the set of polled commands
+     * @return boolean This returns true if the last read of every polled command failed.
+     */
+    boolean allFailing(Set<commandNames> polled) {
+        for (commandNames command : polled) {
+            if (failureCounts[command.ordinal()] == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This method is used to get the time of the last successful read of a command
+     * @param command This is the command
+     * @return long This returns the time in ms, 0 if never read
+     */
+    long getLastPollTime(commandNames command) {
+        return lastPollTimes[command.ordinal()];
+    }
+
+    /**
+     * This method is used to know if every known result was read by a poll
+     * @param now This is the time of the poll
+     * @return boolean This returns true if no result is reported from an earlier poll, so that no age is reported.
+     */
+    boolean isFresh(long now) {
+        for (int i = 0; i < lastValues.length; i++) {
+            if (lastValues[i] != null && lastPollTimes[i] != now) {
+                return false;
+            }
+        }
+        return (lastPower == null || lastPollTimes[commandNames.power.ordinal()] == now)
+                && (lastStatus == null || lastPollTimes[commandNames.status.ordinal()] == now)
+                && (lastInput == null || lastPollTimes[commandNames.input.ordinal()] == now);
+    }
+}
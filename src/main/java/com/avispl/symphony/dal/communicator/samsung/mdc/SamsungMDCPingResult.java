@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.communicator.samsung.mdc;
+
+/**
+ * Result of an ICMP reachability check of a host, shared by the adapters of that host while fresh enough
+ */
+class SamsungMDCPingResult {
+    private final boolean reachable;
+    private final int latency;
+    private final long timestamp;
+
+    SamsungMDCPingResult(boolean reachable, int latency, long timestamp){
+        this.reachable = reachable;
+        this.latency = latency;
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * Retrieves {@link #reachable}
+     *
+     * @return value of {@link #reachable}
+     */
+    boolean isReachable() {
+        return reachable;
+    }
+
+    /**
+     * Retrieves {@link #latency}, the round trip in ms, or the ping timeout if the host did not answer
+     *
+     * @return value of {@link #latency}
+     */
+    int getLatency() {
+        return latency;
+    }
+
+    /**
+     * Retrieves {@link #timestamp}, the time in ms at which the host was pinged
+     *
+     * @return value of {@link #timestamp}
+     */
+    long getTimestamp() {
+        return timestamp;
+    }
+}
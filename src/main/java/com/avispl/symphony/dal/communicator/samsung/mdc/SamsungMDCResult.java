@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.communicator.samsung.mdc;
+
+import com.avispl.symphony.api.dal.dto.monitor.ExtendedStatistics;
+import com.avispl.symphony.api.dal.dto.monitor.Statistics;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static com.avispl.symphony.dal.communicator.samsung.mdc.SamsungMDCConstants.connectionStateNames;
+import static com.avispl.symphony.dal.communicator.samsung.mdc.SamsungMDCConstants.pollModeNames;
+import static com.avispl.symphony.dal.communicator.samsung.mdc.SamsungMDCConstants.powerStateNames;
+
+/**
+ * Statistics of a poll. Shared statistics are immutable and kept with the fingerprint of the state they were built
+ * from: the polled monitors and the version of each, the power and connection states, the poll mode and the controllable
+ * properties. A poll finding the same fingerprint returns them instead of building new ones.
+ */
+class SamsungMDCResult {
+    private final ExtendedStatistics statistics;
+    private final List<Statistics> statisticsList;
+    private final boolean shared;
+
+    private final List<SamsungMDCMonitor> chain;
+    private final long[] versions;
+    private final powerStateNames powerState;
+    private final connectionStateNames connectionState;
+    private final pollModeNames pollMode;
+    private final Map<String, String> controllable;
+
+    SamsungMDCResult(ExtendedStatistics statistics){
+        this.statistics = statistics;
+        this.statisticsList = null;
+        this.shared = false;
+
+        this.chain = null;
+        this.versions = null;
+        this.powerState = null;
+        this.connectionState = null;
+        this.pollMode = null;
+        this.controllable = null;
+    }
+
+    SamsungMDCResult(Map<String, String> statistics, List<SamsungMDCMonitor> chain, long[] versions, powerStateNames powerState,
+                     connectionStateNames connectionState, pollModeNames pollMode, Map<String, String> controllable){
+        this.statistics = new ExtendedStatistics();
+        this.statistics.setStatistics(Collections.unmodifiableMap(statistics));
+        this.statistics.setDynamicStatistics(Collections.emptyMap());
+        this.statistics.setControl(controllable);
+        this.statisticsList = Collections.singletonList(this.statistics);
+        this.shared = true;
+
+        this.chain = chain;
+        this.versions = versions;
+        this.powerState = powerState;
+        this.connectionState = connectionState;
+        this.pollMode = pollMode;
+        this.controllable = controllable;
+    }
+
+    ExtendedStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Retrieves {@link #shared}, true if the statistics are immutable and may be returned by later polls
+     *
+     * @return value of {@link #shared}
+     */
+    boolean isShared() {
+        return shared;
+    }
+
+    /**
+     * Retrieves {@link #statisticsList}, the shared statistics as returned to Symphony
+     *
+     * @return value of {@link #statisticsList}, null if the statistics are not shared
+     */
+    List<Statistics> getStatisticsList() {
+        return statisticsList;
+    }
+
+    /**
+     * This method is used to know if the statistics were built from the given state
+     * @param chain This is the list of polled monitors
+     * @param versions This is the version of each polled monitor
+     * @param powerState This is the power state
+     * @param connectionState This is the connection state
+     * @param pollMode This is the poll mode
+     * @param controllable This is the map of controllable properties
+     * @return boolean This returns true if every part of the state is the one the statistics were built from.
+     */
+    boolean matches(List<SamsungMDCMonitor> chain, long[] versions, powerStateNames powerState, connectionStateNames connectionState,
+                    pollModeNames pollMode, Map<String, String> controllable) {
+        return shared && this.chain == chain && this.powerState == powerState && this.connectionState == connectionState
+                && this.pollMode == pollMode && this.controllable == controllable && Arrays.equals(this.versions, versions);
+    }
+}
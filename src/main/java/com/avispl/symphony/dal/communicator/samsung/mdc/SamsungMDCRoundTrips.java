@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.communicator.samsung.mdc;
+
+import static com.avispl.symphony.dal.communicator.samsung.mdc.SamsungMDCConstants.commandNames;
+
+/**
+ * Smoothed round trip and mean deviation of each command of one monitor, from which the command timeout is derived
+ * as in TCP (RFC 6298): smoothed + 4 x deviation, doubled after each timeout until a response is received again.
+ * Written under the adapter I/O lock.
+ */
+class SamsungMDCRoundTrips {
+    //gains of the smoothed round trip and of the mean deviation
+    private static final double ALPHA = 0.125;
+    private static final double BETA = 0.25;
+    //the timeout is doubled at most 6 times
+    private static final int MAX_BACKOFFS = 6;
+
+    //in ms, indexed by command ordinal, 0 until the first response
+    private final double[] smoothed = new double[commandNames.values().length];
+    private final double[] deviations = new double[commandNames.values().length];
+    private final int[] backoffs = new int[commandNames.values().length];
+
+    /**
+     * This method is used to record the round trip of a command that was answered
+     * @param command This is the command
+     * @param nanos This is the time in ns from the write to the response
+     */
+    void record(commandNames command, long nanos) {
+        int i = command.ordinal();
+        double sample = nanos / 1e6;
+        if (smoothed[i] == 0) {
+            smoothed[i] = sample;
+            deviations[i] = sample / 2;
+        } else {
+            deviations[i] += BETA * (Math.abs(smoothed[i] - sample) - deviations[i]);
+            smoothed[i] += ALPHA * (sample - smoothed[i]);
+        }
+        backoffs[i] = 0;
+    }
+
+    /**
+     * This method is used to record a command that was not answered within its timeout, doubling the next timeout
+     * @param command This is the command
+     */
+    void timedOut(commandNames command) {
+        backoffs[command.ordinal()] = Math.min(backoffs[command.ordinal()] + 1, MAX_BACKOFFS);
+    }
+
+    /**
+     * This method is used to get the timeout of a command
+     * @param command This is the command
+     * @param minTimeout This is the shortest timeout in ms
+     * @return long This returns the timeout in ms, 0 if the command was never answered
+     */
+    long getTimeout(commandNames command, long minTimeout) {
+        int i = command.ordinal();
+        if (smoothed[i] == 0) {
+            return 0;
+        }
+        long timeout = Math.max(minTimeout, (long) Math.ceil(smoothed[i] + 4 * deviations[i]));
+        return timeout << backoffs[i];
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.communicator.samsung.mdc;
+
+import com.avispl.symphony.api.dal.dto.monitor.ExtendedStatistics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Statistics of one poll, kept by the adapter to answer Symphony while they are fresh enough
+ */
+class SamsungMDCStatisticsSnapshot {
+    private final ExtendedStatistics statistics;
+    private final long timestamp;
+    private final long refreshLatency;
+    private final AtomicBoolean dynamicStatisticsServed = new AtomicBoolean();
+
+    SamsungMDCStatisticsSnapshot(ExtendedStatistics statistics, long timestamp, long refreshLatency){
+        this.statistics = statistics;
+        this.timestamp = timestamp;
+        this.refreshLatency = refreshLatency;
+    }
+
+    ExtendedStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Retrieves {@link #timestamp}, the time in ms at which the poll completed
+     *
+     * @return value of {@link #timestamp}
+     */
+    long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Retrieves {@link #refreshLatency}, the duration in ms of the poll
+     *
+     * @return value of {@link #refreshLatency}
+     */
+    long getRefreshLatency() {
+        return refreshLatency;
+    }
+
+    /**
+     * This method is used to get the dynamic statistics of the poll, which only hold changed values and are therefore
+     * returned to a single caller
+     * @return Map<String, String> This returns the dynamic statistics the first time, an empty map afterwards
+     */
+    Map<String, String> takeDynamicStatistics() {
+        Map<String, String> dynamicStatistics = statistics.getDynamicStatistics();
+        if (dynamicStatistics == null || dynamicStatisticsServed.getAndSet(true)) {
+            return Collections.emptyMap();
+        }
+        return dynamicStatistics;
+    }
+}
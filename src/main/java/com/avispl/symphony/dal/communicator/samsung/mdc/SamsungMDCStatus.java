@@ -6,12 +6,16 @@ package com.avispl.symphony.dal.communicator.samsung.mdc;
 import static com.avispl.symphony.dal.communicator.samsung.mdc.SamsungMDCConstants.statusCodeNames;
 
 public class SamsungMDCStatus {
-    private statusCodeNames lamp;
-    private statusCodeNames temperatureError;
-    private statusCodeNames brightnessSensor;
-    private statusCodeNames noSync;
-    private statusCodeNames fan;
-    private int temperature;
+    //shared instances indexed by the status codes, then by the temperature byte, filled on first use. Instances are
+    //immutable, a thread missing an entry published by another one only creates a duplicate.
+    private static final SamsungMDCStatus[][] flyweights = new SamsungMDCStatus[1 << 10][];
+
+    private final statusCodeNames lamp;
+    private final statusCodeNames temperatureError;
+    private final statusCodeNames brightnessSensor;
+    private final statusCodeNames noSync;
+    private final statusCodeNames fan;
+    private final int temperature;
 
     public SamsungMDCStatus(statusCodeNames lamp,statusCodeNames temperatureError,statusCodeNames brightnessSensor,statusCodeNames noSync, statusCodeNames fan, int temperature){
         this.lamp = lamp;
@@ -22,6 +26,45 @@ public class SamsungMDCStatus {
         this.temperature = temperature;
     }
 
+    /**
+     * This method is used to get the shared status instance of a combination of status codes and temperature
+     * @param lamp This is the lamp status
+     * @param temperatureError This is the temperature status
+     * @param brightnessSensor This is the brightness sensor status
+     * @param noSync This is the sync status
+     * @param fan This is the fan status
+     * @param temperature This is the temperature, shared for values in the range of a signed byte
+     * @return SamsungMDCStatus This returns the status
+     */
+    public static SamsungMDCStatus of(statusCodeNames lamp, statusCodeNames temperatureError, statusCodeNames brightnessSensor,
+                                      statusCodeNames noSync, statusCodeNames fan, int temperature) {
+        if (temperature != (byte) temperature) {
+            return new SamsungMDCStatus(lamp, temperatureError, brightnessSensor, noSync, fan, temperature);
+        }
+
+        int codes = code(lamp) << 8 | code(temperatureError) << 6 | code(brightnessSensor) << 4 | code(noSync) << 2 | code(fan);
+        SamsungMDCStatus[] temperatures = flyweights[codes];
+        if (temperatures == null) {
+            temperatures = new SamsungMDCStatus[256];
+            flyweights[codes] = temperatures;
+        }
+        SamsungMDCStatus status = temperatures[temperature & 0xFF];
+        if (status == null) {
+            status = new SamsungMDCStatus(lamp, temperatureError, brightnessSensor, noSync, fan, temperature);
+            temperatures[temperature & 0xFF] = status;
+        }
+        return status;
+    }
+
+    /**
+     * This method is used to get the 2 bits index of a status code
+     * @param code This is the status code, null if the display sent an unknown one
+     * @return int This returns 0 for null, the ordinal + 1 otherwise
+     */
+    private static int code(statusCodeNames code) {
+        return code == null ? 0 : code.ordinal() + 1;
+    }
+
     public statusCodeNames getLamp() {
         return lamp;
     }
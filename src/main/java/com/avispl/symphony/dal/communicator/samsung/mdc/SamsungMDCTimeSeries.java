@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.communicator.samsung.mdc;
+
+/**
+ * Fixed size ring buffer of the samples of one numeric property, kept in primitive arrays so that recording a sample
+ * does not allocate, with the last value sent upstream for delta suppression
+ */
+class SamsungMDCTimeSeries {
+    private final long[] times;
+    private final double[] values;
+    private int head;
+    private int count;
+
+    private double lastEmitted = Double.NaN;
+    private long lastEmittedTime;
+
+    //aggregates of the last computed window
+    private double min;
+    private double max;
+    private double avg;
+
+    SamsungMDCTimeSeries(int size){
+        this.times = new long[size];
+        this.values = new double[size];
+    }
+
+    /**
+     * This method is used to record a sample, overwriting the oldest one once the buffer is full
+     * @param time This is the time of the sample in ms
+     * @param value This is the value
+     */
+    void add(long time, double value) {
+        times[head] = time;
+        values[head] = value;
+        head = (head + 1) % times.length;
+        if (count < times.length) {
+            count++;
+        }
+    }
+
+    /**
+     * This method is used to know if a value has to be sent upstream, and remember it as sent if so
+     * @param time This is the time of the sample in ms
+     * @param value This is the value
+     * @param heartbeat This is the time in ms after which an unchanged value is sent again
+     * @return boolean This returns true if the value changed since it was last sent, or was last sent heartbeat ms ago.
+     */
+    boolean emit(long time, double value, long heartbeat) {
+        if (Double.compare(value, lastEmitted) == 0 && time - lastEmittedTime < heartbeat) {
+            return false;
+        }
+        lastEmitted = value;
+        lastEmittedTime = time;
+        return true;
+    }
+
+    /**
+     * This method is used to compute the min, max and average of the samples within a window
+     * @param now This is the end of the window in ms
+     * @param window This is the length of the window in ms
+     * @return boolean This returns true if the window holds at least one sample.
+     */
+    boolean aggregate(long now, long window) {
+        int samples = 0;
+        double sum = 0;
+        min = Double.MAX_VALUE;
+        max = -Double.MAX_VALUE;
+
+        for (int i = 0; i < count; i++) {
+            int index = (head - 1 - i + times.length) % times.length;
+            if (now - times[index] > window) {
+                //samples are ordered by time, older ones are outside the window too
+                break;
+            }
+            double value = values[index];
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+            sum += value;
+            samples++;
+        }
+        avg = samples > 0 ? sum / samples : Double.NaN;
+        return samples > 0;
+    }
+
+    double getMin() {
+        return min;
+    }
+
+    double getMax() {
+        return max;
+    }
+
+    double getAvg() {
+        return avg;
+    }
+}
@@ -4,23 +4,24 @@
 package com.avispl.symphony.dal.communicator.samsung.mdc;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.ByteBuffer;
 
 public class SamsungMDCUtils {
 
-    private final static byte HEADER = (byte)0xAA;
+    final static byte HEADER = (byte)0xAA;
 
     /**
-     * This method is used to calculate the checksum of a byte array
-     * @param bytes This is the list of bytes against which the checksum should be calculated
+     * This method is used to calculate the checksum of a frame, the sum of its bytes between header and checksum
+     * @param bytes This is the array holding the frame
+     * @param offset This is the position of the first byte after the header
+     * @param length This is the number of bytes summed
      * @return byte This returns the calculated checksum.
      */
-    static byte checkSum(byte bytes[]){
+    static byte checkSum(byte[] bytes, int offset, int length) {
         int checksum = 0;
 
-        for(int i = 0;i < bytes.length;i++){
-            checksum = checksum + bytes[i]& 0xFF;
+        for (int i = offset; i < offset + length; i++) {
+            checksum += bytes[i];
         }
 
         return (byte) checksum;
@@ -93,43 +94,38 @@ public class SamsungMDCUtils {
      * @return byte[] This returns the string to be sent to the display
      */
     static byte[] buildSendString(byte monitorID, byte command, byte[] param) {
-        List<Byte> bytes = new ArrayList<>();
+        byte byteArray[] = new byte[sendStringLength(param)];
 
-        bytes.add(command);
-        bytes.add((byte)monitorID);
+        writeSendString(ByteBuffer.wrap(byteArray), monitorID, command, param);
 
-        if(param != null) {
-
-            bytes.add((byte)param.length);
-
-            for(byte b:param){
-                bytes.add(b);
-            }
-        }else{
-            bytes.add((byte)0x00);
-        }
-
-        byte message[] = new byte[bytes.size()];
-
-        for(int i = 0;i<bytes.size();i++)
-        {
-            message[i] = bytes.get(i);
-        }
-
-        bytes.add(checkSum(message));
-
-        bytes.add(0,HEADER);
-
-        bytes.add((byte)0x0D);
-        bytes.add((byte)0x0A);
+        return byteArray;
+    }
 
-        byte byteArray[] = new byte[bytes.size()];
+    /**
+     * This method is used to get the size of a string to be sent: header, command, ID, length, parameters, checksum, CR and LF
+     * @param param This is the byte array reprensenting the parameter values to be sent, null if none
+     * @return int This returns the number of bytes to be sent
+     */
+    static int sendStringLength(byte[] param) {
+        return (param != null ? param.length : 0) + 7;
+    }
 
-        for(int i = 0;i<bytes.size();i++)
-        {
-            byteArray[i] = bytes.get(i);
+    /**
+     * This method is used to write a string to be sent according to the Samsung Protocol in a single pass
+     * @param target This is the buffer the string is written to, starting at its current position
+     * @param monitorID This is byte representing the monitor ID
+     * @param command This is the byte reprensenting the command to be sent
+     * @param param This is the byte array reprensenting the parameter values to be sent, null if none
+     */
+    static void writeSendString(ByteBuffer target, byte monitorID, byte command, byte[] param) {
+        int paramLength = param != null ? param.length : 0;
+        int checksum = command + monitorID + paramLength;
+
+        target.put(HEADER).put(command).put(monitorID).put((byte) paramLength);
+        for (int i = 0; i < paramLength; i++) {
+            target.put(param[i]);
+            checksum += param[i];
         }
-
-        return byteArray ;
+        target.put((byte) checksum).put((byte) 0x0D).put((byte) 0x0A);
     }
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.communicator.samsung.mdc;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Bounded trace of the bytes exchanged with the display, kept in a preallocated off-heap ring buffer so that it can
+ * stay enabled in production. Each record holds a {@link System#nanoTime()} timestamp, a record type and the bytes,
+ * the oldest records are overwritten once the buffer is full. Written under the adapter I/O lock.
+ *
+ * Dump file: "MDCT" magic, format version byte, wall clock time in ms and {@link System#nanoTime()} of the dump,
+ * then the records from oldest to newest, each as timestamp (8 bytes), type (1 byte), length (2 bytes) and bytes.
+ */
+class SamsungMDCWireTrace {
+    final static int MAGIC = 0x4D444354;
+    final static byte VERSION = 1;
+
+    //record types: bytes written to the display, bytes received from it, connection closed
+    final static byte TX = 0;
+    final static byte RX = 1;
+    final static byte CLOSE = 2;
+
+    //timestamp, type and length
+    final static int RECORD_HEADER_SIZE = 8 + 1 + 2;
+    private final static byte[] NO_BYTES = new byte[0];
+
+    private final ByteBuffer buffer;
+    //position of the oldest record, of the next record, and number of bytes used
+    private int head;
+    private int tail;
+    private int used;
+    private long records;
+
+    SamsungMDCWireTrace(int capacity){
+        this.buffer = ByteBuffer.allocateDirect(Math.max(capacity, RECORD_HEADER_SIZE * 2));
+    }
+
+    /**
+     * This method is used to record bytes exchanged with the display, bytes beyond half the buffer capacity or the
+     * largest record length are not kept
+     * @param type This is the record type, {@link #TX} or {@link #RX}
+     * @param bytes This is the array of bytes
+     * @param offset This is the position of the first byte
+     * @param length This is the number of bytes
+     */
+    void record(byte type, byte[] bytes, int offset, int length) {
+        length = Math.min(length, Math.min(0xFFFF, buffer.capacity() / 2 - RECORD_HEADER_SIZE));
+        int size = RECORD_HEADER_SIZE + length;
+        while (buffer.capacity() - used < size) {
+            //drop the oldest record
+            int oldest = RECORD_HEADER_SIZE + (getShort(head + 9) & 0xFFFF);
+            head = (head + oldest) % buffer.capacity();
+            used -= oldest;
+        }
+
+        long timestamp = System.nanoTime();
+        for (int i = 56; i >= 0; i -= 8) {
+            putByte((byte) (timestamp >>> i));
+        }
+        putByte(type);
+        putByte((byte) (length >>> 8));
+        putByte((byte) length);
+        for (int i = offset; i < offset + length; i++) {
+            putByte(bytes[i]);
+        }
+        used += size;
+        records++;
+    }
+
+    /**
+     * This method is used to record bytes exchanged with the display
+     * @param type This is the record type, {@link #TX} or {@link #RX}
+     * @param bytes This is the array of bytes
+     */
+    void record(byte type, byte[] bytes) {
+        record(type, bytes, 0, bytes.length);
+    }
+
+    /**
+     * This method is used to record the connection being closed, after which the decoder drops any partial frame
+     */
+    void recordClose() {
+        record(CLOSE, NO_BYTES, 0, 0);
+    }
+
+    /**
+     * Retrieves {@link #records}, the number of records written since the trace was created, overwritten ones included
+     *
+     * @return value of {@link #records}
+     */
+    long getRecords() {
+        return records;
+    }
+
+    /**
+     * This method is used to write the records held by the buffer to a file
+     * @param path This is the path of the dump file
+     * @return int This returns the number of records written
+     * @throws IOException if the file cannot be written
+     */
+    int dump(String path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(System.currentTimeMillis());
+            out.writeLong(System.nanoTime());
+
+            int count = 0;
+            int position = head;
+            int remaining = used;
+            while (remaining > 0) {
+                int size = RECORD_HEADER_SIZE + (getShort(position + 9) & 0xFFFF);
+                for (int i = 0; i < size; i++) {
+                    out.writeByte(buffer.get((position + i) % buffer.capacity()));
+                }
+                position = (position + size) % buffer.capacity();
+                remaining -= size;
+                count++;
+            }
+            return count;
+        }
+    }
+
+    /**
+     * This method is used to write a byte at the end of the ring buffer
+     * @param value This is the byte
+     */
+    private void putByte(byte value) {
+        buffer.put(tail, value);
+        tail = (tail + 1) % buffer.capacity();
+    }
+
+    /**
+     * This method is used to read a big endian short of the ring buffer
+     * @param position This is the position of the first byte, wrapped around the buffer capacity
+     * @return short This returns the value
+     */
+    private short getShort(int position) {
+        return (short) ((buffer.get(position % buffer.capacity()) & 0xFF) << 8 | buffer.get((position + 1) % buffer.capacity()) & 0xFF);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.communicator.samsung.mdc;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static com.avispl.symphony.dal.communicator.samsung.mdc.SamsungMDCConstants.commandNames;
+import static com.avispl.symphony.dal.communicator.samsung.mdc.SamsungMDCConstants.inputNames;
+import static com.avispl.symphony.dal.communicator.samsung.mdc.SamsungMDCConstants.powerStatusNames;
+import static com.avispl.symphony.dal.communicator.samsung.mdc.SamsungMDCConstants.statusCodeNames;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Response decoding through the {@link SamsungMDCCommand} registry
+ */
+class SamsungMDCCommandTest {
+
+    /**
+     * This method is used to decode a response frame through the registry
+     * @param bytes This is the response frame
+     * @return Object This returns the decoded value
+     */
+    private static Object decode(byte[] bytes) {
+        SamsungMDCFrameDecoder decoder = new SamsungMDCFrameDecoder();
+        SamsungMDCFrame frame = new SamsungMDCFrame();
+        decoder.feed(bytes, 0, bytes.length);
+        assertTrue(decoder.next(frame));
+        return SamsungMDCCommand.of(SamsungMDCCommand.byCode(frame.getCommand())).decode(frame);
+    }
+
+    @Test
+    void registersEveryCommandUnderItsCode() {
+        for (commandNames command : commandNames.values()) {
+            assertSame(command, SamsungMDCCommand.byCode(SamsungMDCCommand.of(command).getCode()));
+        }
+        assertEquals(0x11, SamsungMDCCommand.of(commandNames.power).getCode());
+        assertEquals((byte) 0x8A, SamsungMDCCommand.of(commandNames.modelName).getCode());
+    }
+
+    @Test
+    void decodesSingleFieldResponses() {
+        assertSame(powerStatusNames.ON, decode(SamsungMDCDeviceTest.response(1, true, 0x11, 0x01)));
+        assertSame(inputNames.PC, decode(SamsungMDCDeviceTest.response(1, true, 0x14, inputNames.PC.code)));
+        assertEquals("30", decode(SamsungMDCDeviceTest.response(1, true, 0x12, 30)));
+        assertEquals("SIM", decode(SamsungMDCDeviceTest.response(1, true, 0x8A, 'S', 'I', 'M')));
+    }
+
+    @Test
+    void combinesMultiFieldResponses() {
+        SamsungMDCStatus status = (SamsungMDCStatus) decode(SamsungMDCDeviceTest.response(1, true, 0x0D, 0x00, 0x00, 0x00, 0x01, 42, 0x00));
+
+        assertEquals(42, status.getTemperature());
+        assertSame(statusCodeNames.ERROR, status.getNoSync());
+    }
+
+    @Test
+    void mapsSingleFieldValuesToStatistics() {
+        Map<String, String> statistics = new HashMap<>();
+        SamsungMDCCommand.of(commandNames.volume).putStatistics(statistics, "Monitor 2#", "30");
+        SamsungMDCCommand.of(commandNames.brightness).putStatistics(statistics, "", null);
+
+        assertEquals("30", statistics.get("Monitor 2#volume"));
+        assertEquals(1, statistics.size());
+    }
+}
@@ -0,0 +1,575 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.communicator.samsung.mdc;
+
+import java.io.ByteArrayOutputStream;
+import java.net.SocketTimeoutException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.avispl.symphony.api.dal.dto.control.ControllableProperty;
+import com.avispl.symphony.api.dal.dto.monitor.ExtendedStatistics;
+import com.avispl.symphony.api.dal.dto.monitor.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.avispl.symphony.dal.communicator.samsung.mdc.SamsungMDCConstants.statusCodeNames;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Poll modes of {@link SamsungMDCDevice} against a scripted display
+ */
+class SamsungMDCDeviceTest {
+    //serial number, software version, model name and model code
+    private static final List<Integer> IDENTITY_COMMANDS = Arrays.asList(0x0B, 0x0E, 0x8A, 0x10);
+
+    private ScriptedDevice device;
+
+    /**
+     * {@link SamsungMDCDevice} whose sends are answered by a scripted display instead of a socket.
+     * Each read returns one response frame, or half of one when the responses are split.
+     */
+    static class ScriptedDevice extends SamsungMDCDevice {
+        //data answered to each get command, by command byte, also read by the warm up probe
+        final Map<Integer, int[]> values = new ConcurrentHashMap<>();
+        //get commands answered NAK whatever their value, such as the power requests of a warming display
+        final Set<Integer> naks = ConcurrentHashMap.newKeySet();
+        //non empty writes, in order, except the identity reads covered by SamsungMDCSimulatorTest
+        final List<byte[]> writes = new CopyOnWriteArrayList<>();
+        boolean split;
+        //round trip answered to pings, the ping timeout for an unreachable host
+        int pingLatency = 1;
+        int pings;
+        //time in ms the display takes to answer a write
+        volatile long latency;
+        private final Deque<byte[]> reads = new ArrayDeque<>();
+
+        ScriptedDevice() {
+            values.put(0x11, new int[]{0x01});
+            values.put(0x0D, new int[]{0x00, 0x00, 0x00, 0x00, 42, 0x00});
+            values.put(0x14, new int[]{0x21});
+            //power, volume, mute, input, aspect, N time NF, F time NF
+            values.put(0x00, new int[]{0x01, 20, 0x00, 0x21, 0x00, 0x00, 0x00});
+        }
+
+        @Override
+        protected synchronized byte[] send(byte[] data) throws Exception {
+            if (data.length > 0) {
+                Thread.sleep(latency);
+                if (!IDENTITY_COMMANDS.contains(data[1] & 0xFF)) {
+                    writes.add(data);
+                }
+                answer(data);
+            }
+            if (reads.isEmpty()) {
+                throw new SocketTimeoutException("no response");
+            }
+            return reads.poll();
+        }
+
+        @Override
+        public int ping() {
+            pings++;
+            return pingLatency;
+        }
+
+        /**
+         * This method is used to queue the responses to every request frame of a write: AA cmd ID length data checksum
+         * @param data This is the written bytes
+         */
+        private void answer(byte[] data) {
+            for (int i = 0; i + 3 < data.length; i++) {
+                if (data[i] != (byte) 0xAA) {
+                    continue;
+                }
+                int command = data[i + 1] & 0xFF;
+                int length = data[i + 3] & 0xFF;
+                if (length > 0) {
+                    //a set command is applied and its value echoed
+                    values.put(command, new int[]{data[i + 4] & 0xFF});
+                }
+                int[] value = values.get(command);
+                boolean ack = value != null && (length > 0 || !naks.contains(command));
+                byte[] response = response(data[i + 2] & 0xFF, ack, command, ack ? value : new int[]{0x00});
+                if (split) {
+                    reads.add(Arrays.copyOfRange(response, 0, response.length / 2));
+                    reads.add(Arrays.copyOfRange(response, response.length / 2, response.length));
+                } else {
+                    reads.add(response);
+                }
+                i += 4 + length;
+            }
+        }
+    }
+
+    /**
+     * This method is used to build a response frame: AA FF ID length A/N r-cmd values checksum
+     * @param monitorID This is the ID of the answering monitor
+     * @param ack This is true for an ACK, false for a NAK
+     * @param command This is the command answered
+     * @param values This is the values following the command
+     * @return byte[] This returns the frame
+     */
+    static byte[] response(int monitorID, boolean ack, int command, int... values) {
+        ByteArrayOutputStream frame = new ByteArrayOutputStream();
+        frame.write(0xAA);
+        frame.write(0xFF);
+        frame.write(monitorID);
+        frame.write(values.length + 2);
+        frame.write(ack ? 'A' : 'N');
+        frame.write(command);
+        for (int value : values) {
+            frame.write(value);
+        }
+        byte[] bytes = frame.toByteArray();
+        int checksum = 0;
+        for (int i = 1; i < bytes.length; i++) {
+            checksum += bytes[i];
+        }
+        frame.write(checksum);
+        return frame.toByteArray();
+    }
+
+    @BeforeEach
+    void setUp() {
+        device = new ScriptedDevice();
+    }
+
+    /**
+     * Polls the statistics once
+     * @return Map<String, String> This returns the statistics
+     */
+    private Map<String, String> poll() throws Exception {
+        return ((ExtendedStatistics) device.getMultipleStatistics().get(0)).getStatistics();
+    }
+
+    /**
+     * Sends a control to the device
+     * @param property This is the name of the property
+     * @param value This is the value requested
+     */
+    private void control(String property, String value) throws Exception {
+        ControllableProperty controllableProperty = new ControllableProperty();
+        controllableProperty.setProperty(property);
+        controllableProperty.setValue(value);
+        device.controlProperty(controllableProperty);
+    }
+
+    /**
+     * This method is used to count the request frames of a command in the writes: AA cmd ID length data checksum
+     * @param command This is the command byte
+     * @return int This returns the number of frames of the command
+     */
+    private int countRequests(int command) {
+        int count = 0;
+        for (byte[] data : device.writes) {
+            for (int i = 0; i + 3 < data.length; i++) {
+                if (data[i] != (byte) 0xAA) {
+                    continue;
+                }
+                if ((data[i + 1] & 0xFF) == command) {
+                    count++;
+                }
+                i += 4 + (data[i + 3] & 0xFF);
+            }
+        }
+        return count;
+    }
+
+    @Test
+    void sequentialPollWritesOneCommandPerRoundTrip() throws Exception {
+        Map<String, String> statistics = poll();
+
+        assertEquals(3, device.writes.size());
+        assertEquals("1", statistics.get("power"));
+        assertEquals("HDMI_1", statistics.get("input"));
+        assertEquals("42", statistics.get("temperature"));
+    }
+
+    @Test
+    void pipelinedPollWritesPowerStatusAndInputAtOnce() throws Exception {
+        device.setPollMode("PIPELINED");
+        Map<String, String> statistics = poll();
+
+        assertEquals(1, device.writes.size());
+        assertEquals("1", statistics.get("power"));
+        assertEquals("HDMI_1", statistics.get("input"));
+        assertEquals("42", statistics.get("temperature"));
+        assertEquals("DETECTED", statistics.get("sync"));
+    }
+
+    @Test
+    void pipelinedPollReadsResponsesSplitAcrossReads() throws Exception {
+        device.setPollMode("PIPELINED");
+        device.split = true;
+        Map<String, String> statistics = poll();
+
+        //no response requested again on its own
+        assertEquals(1, device.writes.size());
+        assertEquals("1", statistics.get("power"));
+        assertEquals("HDMI_1", statistics.get("input"));
+        assertEquals("42", statistics.get("temperature"));
+    }
+
+    @Test
+    void displayStatusPollReadsPowerVolumeMuteAndInput() throws Exception {
+        device.setPollMode("DISPLAY_STATUS");
+        Map<String, String> statistics = poll();
+
+        //display status and status in a single write
+        assertEquals(1, device.writes.size());
+        assertEquals("1", statistics.get("power"));
+        assertEquals("HDMI_1", statistics.get("input"));
+        assertEquals("20", statistics.get("volume"));
+        assertEquals("OFF", statistics.get("mute"));
+        assertEquals("42", statistics.get("temperature"));
+    }
+
+    @Test
+    void displayStatusPollFallsBackToSeparateCommands() throws Exception {
+        device.setPollMode("DISPLAY_STATUS");
+        device.values.remove(0x00);
+        Map<String, String> statistics = poll();
+
+        //power and input requested on their own after the NAK
+        assertEquals(3, device.writes.size());
+        assertEquals("1", statistics.get("power"));
+        assertEquals("HDMI_1", statistics.get("input"));
+        assertFalse(statistics.containsKey("volume"));
+
+        device.writes.clear();
+        poll();
+        assertEquals(3, device.writes.size());
+
+        //applying the same configuration again keeps the fallback, a mode change tries the display status again
+        device.setPollMode("DISPLAY_STATUS");
+        device.writes.clear();
+        poll();
+        assertEquals(0, countRequests(0x00));
+
+        device.setPollMode("PIPELINED");
+        device.setPollMode("DISPLAY_STATUS");
+        device.writes.clear();
+        poll();
+        assertEquals(1, countRequests(0x00));
+    }
+
+    @Test
+    void powerOnReturnsWhileTheDisplayWarmsUp() throws Exception {
+        device.setWarmupProbeInterval(200);
+        long start = System.currentTimeMillis();
+        control("power", "1");
+        //the display NAKs power requests until it is ready
+        device.values.remove(0x11);
+
+        assertTrue(System.currentTimeMillis() - start < 1000);
+        device.writes.clear();
+        Map<String, String> statistics = poll();
+        assertEquals("1", statistics.get("power"));
+        assertEquals("WARMING", statistics.get("power state"));
+        //nothing but probes are written while warming
+        for (byte[] write : device.writes) {
+            assertEquals(0x11, write[1]);
+        }
+
+        device.values.put(0x11, new int[]{0x01});
+        long deadline = System.currentTimeMillis() + 5000;
+        while ("WARMING".equals(statistics.get("power state")) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            statistics = poll();
+        }
+        assertEquals("ON", statistics.get("power state"));
+        assertEquals("HDMI_1", statistics.get("input"));
+    }
+
+    @Test
+    void warmingReportsTheLastKnownValuesWithTheirAge() throws Exception {
+        device.setWarmupProbeInterval(5000);
+        device.values.put(0x11, new int[]{0x00});
+        poll();
+        control("power", "1");
+        Thread.sleep(5);
+
+        Map<String, String> statistics = poll();
+        assertEquals("WARMING", statistics.get("power state"));
+        assertEquals("1", statistics.get("power"));
+        assertFalse(statistics.containsKey("power age"));
+        assertEquals("HDMI_1", statistics.get("input"));
+        assertTrue(Long.parseLong(statistics.get("input age")) > 0);
+        assertEquals("42", statistics.get("temperature"));
+        assertTrue(statistics.containsKey("status age"));
+    }
+
+    @Test
+    void powerOnDuringAProbeKeepsASingleProbeSchedule() throws Exception {
+        device.setWarmupProbeInterval(100);
+        control("power", "1");
+        device.naks.add(0x11);
+        //the first probe is due while the second power ON is being acknowledged, and waits for it
+        device.latency = 300;
+        control("power", "1");
+        device.writes.clear();
+
+        //one schedule probes after 0.3s, 0.6s, 1.1s and 1.8s, each taking 0.3s
+        Thread.sleep(2300);
+        long probes = device.writes.stream().filter(write -> write[1] == 0x11 && write[3] == 0).count();
+        assertEquals(4, probes);
+    }
+
+    @Test
+    void statisticsCacheServesPollsWithinTheTTL() throws Exception {
+        device.setStatisticsCacheTTL(60000);
+        poll();
+        Map<String, String> statistics = poll();
+
+        assertEquals(3, device.writes.size());
+        assertEquals("1", statistics.get("power"));
+        assertTrue(statistics.containsKey("cache age"));
+        assertTrue(statistics.containsKey("refresh latency"));
+    }
+
+    @Test
+    void statisticsCacheRefreshesInBackgroundOnceExpired() throws Exception {
+        device.setStatisticsCacheTTL(20);
+        poll();
+        Thread.sleep(40);
+        device.values.put(0x14, new int[]{0x23});
+
+        //the expired snapshot is served while the refresh runs
+        long deadline = System.currentTimeMillis() + 5000;
+        Map<String, String> statistics = poll();
+        while (!"HDMI_2".equals(statistics.get("input")) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            statistics = poll();
+        }
+        assertEquals("HDMI_2", statistics.get("input"));
+    }
+
+    @Test
+    void callersWaitingForARefreshShareItsError() throws Exception {
+        device.setStatisticsCacheTTL(20);
+        poll();
+        Thread.sleep(40);
+        device.values.clear();
+        //the expired snapshot is served while the background refresh fails
+        poll();
+        Thread.sleep(200);
+        device.writes.clear();
+        device.latency = 100;
+
+        List<CompletableFuture<Map<String, String>>> callers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            callers.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return poll();
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }));
+        }
+        for (CompletableFuture<Map<String, String>> caller : callers) {
+            assertThrows(ExecutionException.class, caller::get);
+        }
+        //the display was polled once, by the first caller
+        assertEquals(3, device.writes.size());
+    }
+
+    @Test
+    void pollIntervalsSkipCommandsThatAreNotDue() throws Exception {
+        device.setStatusPollInterval(60000);
+        device.setInputPollInterval(60000);
+        poll();
+        device.writes.clear();
+        Map<String, String> statistics = poll();
+
+        //only power is read again, status and input come from the previous poll
+        assertEquals(1, device.writes.size());
+        assertEquals(0x11, device.writes.get(0)[1]);
+        assertEquals("HDMI_1", statistics.get("input"));
+        assertEquals("42", statistics.get("temperature"));
+    }
+
+    @Test
+    void failingCommandKeepsItsLastKnownGoodValue() throws Exception {
+        poll();
+        Thread.sleep(5);
+        device.values.remove(0x0D);
+        Map<String, String> statistics = poll();
+
+        assertEquals("1", statistics.get("power"));
+        assertEquals("HDMI_1", statistics.get("input"));
+        assertEquals("42", statistics.get("temperature"));
+        assertTrue(statistics.containsKey("status age"));
+        assertFalse(statistics.containsKey("power age"));
+    }
+
+    @Test
+    void pollFailsOnceEveryCommandIsFailing() throws Exception {
+        poll();
+        device.values.clear();
+
+        assertThrows(Exception.class, this::poll);
+    }
+
+    @Test
+    void inputControlsOutsideTheOptionsAreNotSent() throws Exception {
+        control("input", "OFF");
+        control("input", "hdmi_2");
+        control("input", "HDMI_9");
+        assertTrue(device.writes.isEmpty());
+
+        control("input", "HDMI_2");
+        assertEquals(1, device.writes.size());
+        assertArrayEquals(SamsungMDCUtils.buildSendString((byte) 1, (byte) 0x14, new byte[]{0x23}), device.writes.get(0));
+    }
+
+    @Test
+    void controlsOfTheSamePropertyAreCoalesced() throws Exception {
+        ControllableProperty on = new ControllableProperty();
+        on.setProperty("power");
+        on.setValue("1");
+        ControllableProperty off = new ControllableProperty();
+        off.setProperty("power");
+        off.setValue("0");
+        device.controlProperties(Arrays.asList(on, off));
+
+        //a single set power frame carrying the last value
+        assertEquals(1, device.writes.size());
+        assertArrayEquals(SamsungMDCUtils.buildSendString((byte) 1, (byte) 0x11, new byte[]{0x00}), device.writes.get(0));
+        assertEquals("OFF", poll().get("power state"));
+    }
+
+    @Test
+    void controlReadsAcknowledgementSplitAcrossReads() throws Exception {
+        device.split = true;
+        control("power", "0");
+
+        assertEquals(1, device.writes.size());
+        assertEquals("OFF", poll().get("power state"));
+    }
+
+    @Test
+    void unreachableHostIsReportedWithoutPolling() throws Exception {
+        device.setHost("unreachable.ping.test");
+        device.setPingPreCheck(true);
+        device.pingLatency = device.getPingTimeout();
+        Map<String, String> statistics = poll();
+
+        assertEquals("UNREACHABLE", statistics.get("connection state"));
+        assertTrue(device.writes.isEmpty());
+    }
+
+    @Test
+    void pingIsSharedByAdaptersOfTheSameHost() throws Exception {
+        device.setHost("shared.ping.test");
+        device.setPingPreCheck(true);
+        device.pingLatency = 3;
+        ScriptedDevice other = new ScriptedDevice();
+        other.setHost("shared.ping.test");
+        other.setPingPreCheck(true);
+
+        assertEquals("3", poll().get("ping latency"));
+        assertEquals("3", ((ExtendedStatistics) other.getMultipleStatistics().get(0)).getStatistics().get("ping latency"));
+        assertEquals(1, device.pings + other.pings);
+        assertEquals(3, other.writes.size());
+    }
+
+    @Test
+    void asyncCommandsCompleteWithTheDisplayAnswers() throws Exception {
+        assertEquals("ON", device.getPowerAsync(5000).get());
+        assertEquals("HDMI_1", device.getInputAsync(5000).get());
+        assertEquals(42, device.getStatusAsync(5000).get().getTemperature());
+
+        device.setPowerAsync(false, 5000).get();
+        assertEquals("OFF", device.getPowerAsync(5000).get());
+    }
+
+    @Test
+    void asyncCommandFailsOnceItsDeadlineExpires() throws Exception {
+        device.latency = 1000;
+        CompletableFuture<String> power = device.getPowerAsync(50);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> power.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof TimeoutException);
+    }
+
+    @Test
+    void historicalPropertiesAreSentOnlyWhenChanged() throws Exception {
+        device.setHistoricalProperties("temperature");
+        ExtendedStatistics first = (ExtendedStatistics) device.getMultipleStatistics().get(0);
+
+        assertEquals("42", first.getDynamicStatistics().get("temperature"));
+        assertFalse(first.getStatistics().containsKey("temperature"));
+        assertEquals("42", first.getStatistics().get("temperature max"));
+
+        ExtendedStatistics unchanged = (ExtendedStatistics) device.getMultipleStatistics().get(0);
+        assertFalse(unchanged.getDynamicStatistics().containsKey("temperature"));
+
+        device.values.put(0x0D, new int[]{0x00, 0x00, 0x00, 0x00, 44, 0x00});
+        ExtendedStatistics changed = (ExtendedStatistics) device.getMultipleStatistics().get(0);
+        assertEquals("44", changed.getDynamicStatistics().get("temperature"));
+        assertEquals("42", changed.getStatistics().get("temperature min"));
+        assertEquals("44", changed.getStatistics().get("temperature max"));
+    }
+
+    @Test
+    void skippedCommandsAreNotRecordedInTheHistory() throws Exception {
+        device.setHistoricalProperties("temperature");
+        device.setHistoryWindow(50);
+        poll();
+        Thread.sleep(100);
+
+        //power and input fit in the budget, the temperature of the skipped status is the one of the previous poll
+        device.latency = 100;
+        device.setPollBudget(150);
+        ExtendedStatistics skipped = (ExtendedStatistics) device.getMultipleStatistics().get(0);
+        assertEquals("status", skipped.getStatistics().get("stale commands"));
+        assertFalse(skipped.getDynamicStatistics().containsKey("temperature"));
+        assertEquals("42", skipped.getStatistics().get("temperature"));
+        assertFalse(skipped.getStatistics().containsKey("temperature max"));
+
+        device.latency = 0;
+        ExtendedStatistics read = (ExtendedStatistics) device.getMultipleStatistics().get(0);
+        assertEquals("42", read.getDynamicStatistics().get("temperature"));
+        assertEquals("42", read.getStatistics().get("temperature max"));
+    }
+
+    @Test
+    void unchangedPollReusesThePreviousStatistics() throws Exception {
+        List<Statistics> first = device.getMultipleStatistics();
+        List<Statistics> unchanged = device.getMultipleStatistics();
+
+        assertSame(first, unchanged);
+        assertSame(first.get(0), unchanged.get(0));
+
+        device.values.put(0x0D, new int[]{0x00, 0x00, 0x00, 0x00, 44, 0x00});
+        List<Statistics> changed = device.getMultipleStatistics();
+        assertNotSame(first.get(0), changed.get(0));
+        assertEquals("44", ((ExtendedStatistics) changed.get(0)).getStatistics().get("temperature"));
+    }
+
+    @Test
+    void statusFlyweightsAreInterned() {
+        assertSame(SamsungMDCStatus.of(statusCodeNames.NORMAL, statusCodeNames.NORMAL, statusCodeNames.NORMAL, statusCodeNames.NORMAL, statusCodeNames.NORMAL, 42),
+                SamsungMDCStatus.of(statusCodeNames.NORMAL, statusCodeNames.NORMAL, statusCodeNames.NORMAL, statusCodeNames.NORMAL, statusCodeNames.NORMAL, 42));
+    }
+}
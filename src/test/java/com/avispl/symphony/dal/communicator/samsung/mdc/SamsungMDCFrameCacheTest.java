@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.communicator.samsung.mdc;
+
+import java.nio.ByteBuffer;
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import static com.avispl.symphony.dal.communicator.samsung.mdc.SamsungMDCConstants.commandNames;
+import static com.avispl.symphony.dal.communicator.samsung.mdc.SamsungMDCConstants.inputNames;
+import static com.avispl.symphony.dal.communicator.samsung.mdc.SamsungMDCConstants.powerStatusNames;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Request frames built by {@link SamsungMDCFrameCache}
+ */
+class SamsungMDCFrameCacheTest {
+
+    @Test
+    void buildsCachePerMonitor() {
+        assertNotSame(new SamsungMDCMonitor(5).getFrameCache(), new SamsungMDCMonitor(5).getFrameCache());
+    }
+
+    @Test
+    void buildsGetFrames() throws Exception {
+        //header, command, ID, length, checksum, CR, LF
+        assertArrayEquals(new byte[]{(byte) 0xAA, 0x11, 0x05, 0x00, 0x16, 0x0D, 0x0A},
+                new SamsungMDCFrameCache(5).writeFrame(commandNames.power, byte[]::clone));
+        SamsungMDCFrameCache cache = new SamsungMDCFrameCache(7);
+        for (commandNames command : commandNames.values()) {
+            ByteBuffer written = ByteBuffer.allocate(SamsungMDCUtils.sendStringLength(null));
+            cache.putFrame(written, command);
+            assertArrayEquals(SamsungMDCUtils.buildSendString((byte) 7, SamsungMDCCommand.of(command).getCode()), cache.writeFrame(command, byte[]::clone));
+            assertArrayEquals(cache.writeFrame(command, byte[]::clone), written.array());
+        }
+    }
+
+    @Test
+    void lendsCachedFramesWithoutCopies() throws Exception {
+        SamsungMDCFrameCache cache = new SamsungMDCFrameCache(5);
+        Set<commandNames> batch = EnumSet.of(commandNames.power, commandNames.status);
+
+        assertSame(cache.writeFrame(commandNames.power, frames -> frames), cache.writeFrame(commandNames.power, frames -> frames));
+        assertSame(cache.writeBatch(batch, frames -> frames), cache.writeBatch(EnumSet.copyOf(batch), frames -> frames));
+    }
+
+    @Test
+    void cachesSetFramesOfProtocolValues() {
+        SamsungMDCFrameCache cache = new SamsungMDCFrameCache(1);
+
+        assertArrayEquals(new byte[]{(byte) 0xAA, 0x11, 0x01, 0x01, 0x01, 0x14, 0x0D, 0x0A},
+                setFrame(cache, commandNames.power, powerStatusNames.ON.code));
+        assertArrayEquals(SamsungMDCUtils.buildSendString((byte) 1, (byte) 0x14, new byte[]{inputNames.PC.code}),
+                setFrame(cache, commandNames.input, inputNames.PC.code));
+    }
+
+    @Test
+    void buildsSetFramesOfOtherValues() {
+        SamsungMDCFrameCache cache = new SamsungMDCFrameCache(1);
+
+        assertArrayEquals(SamsungMDCUtils.buildSendString((byte) 1, (byte) 0x14, new byte[]{0x7F}), setFrame(cache, commandNames.input, (byte) 0x7F));
+        assertArrayEquals(SamsungMDCUtils.buildSendString((byte) 1, (byte) 0x12, new byte[]{30}), setFrame(cache, commandNames.volume, (byte) 30));
+    }
+
+    @Test
+    void concatenatesBatches() throws Exception {
+        SamsungMDCFrameCache cache = new SamsungMDCFrameCache(2);
+        Set<commandNames> batch = EnumSet.of(commandNames.power, commandNames.status, commandNames.input);
+        byte[] frames = cache.writeBatch(batch, byte[]::clone);
+
+        ByteBuffer expected = ByteBuffer.allocate(frames.length);
+        for (commandNames command : batch) {
+            cache.putFrame(expected, command);
+        }
+        assertArrayEquals(expected.array(), frames);
+
+        //the batch is cached under a copy of the set
+        batch.remove(commandNames.input);
+        ByteBuffer written = ByteBuffer.allocate(frames.length);
+        cache.putBatch(written, EnumSet.of(commandNames.power, commandNames.status, commandNames.input));
+        assertArrayEquals(frames, written.array());
+    }
+
+    private static byte[] setFrame(SamsungMDCFrameCache cache, commandNames command, byte param) {
+        ByteBuffer written = ByteBuffer.allocate(SamsungMDCUtils.sendStringLength(new byte[1]));
+        cache.putSetFrame(written, command, param);
+        return written.array();
+    }
+}
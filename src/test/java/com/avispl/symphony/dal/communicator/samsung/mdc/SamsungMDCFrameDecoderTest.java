@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.communicator.samsung.mdc;
+
+import java.io.ByteArrayOutputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Framing of MDC responses by {@link SamsungMDCFrameDecoder}
+ */
+class SamsungMDCFrameDecoderTest {
+    private SamsungMDCFrameDecoder decoder;
+    private SamsungMDCFrame frame;
+
+    @BeforeEach
+    void setUp() {
+        decoder = new SamsungMDCFrameDecoder();
+        frame = new SamsungMDCFrame();
+    }
+
+    /**
+     * This method is used to build a response frame: AA FF ID length A/N r-cmd values checksum
+     * @param monitorID This is the ID of the answering monitor
+     * @param ack This is true for an ACK, false for a NAK
+     * @param command This is the command answered
+     * @param values This is the values following the command
+     * @return byte[] This returns the frame
+     */
+    static byte[] response(int monitorID, boolean ack, int command, int... values) {
+        byte[] frame = new byte[values.length + 7];
+        frame[0] = SamsungMDCUtils.HEADER;
+        frame[1] = (byte) 0xFF;
+        frame[2] = (byte) monitorID;
+        frame[3] = (byte) (values.length + 2);
+        frame[4] = (byte) (ack ? 'A' : 'N');
+        frame[5] = (byte) command;
+        for (int i = 0; i < values.length; i++) {
+            frame[6 + i] = (byte) values[i];
+        }
+        int checksum = 0;
+        for (int i = 1; i < frame.length - 1; i++) {
+            checksum += frame[i];
+        }
+        frame[frame.length - 1] = (byte) checksum;
+        return frame;
+    }
+
+    /**
+     * This method is used to concatenate byte arrays
+     * @param parts This is the arrays to be concatenated
+     * @return byte[] This returns the concatenated bytes
+     */
+    static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.write(part, 0, part.length);
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    void decodesWholeFrame() {
+        decoder.feed(response(3, true, 0x11, 0x01));
+
+        assertTrue(decoder.next(frame));
+        assertEquals(3, frame.getMonitorID());
+        assertTrue(frame.isAck());
+        assertTrue(frame.isChecksumValid());
+        assertEquals(0x11, frame.getCommand());
+        assertEquals(1, frame.getValueCount());
+        assertEquals(0x01, frame.getValue(0));
+        assertFalse(decoder.next(frame));
+        assertFalse(decoder.hasPartialFrame());
+    }
+
+    @Test
+    void decodesFrameSplitAcrossReads() {
+        byte[] bytes = response(1, true, 0x0D, 0x00, 0x00, 0x00, 0x01, 42, 0x00);
+        for (int i = 0; i < bytes.length - 1; i++) {
+            decoder.feed(bytes, i, 1);
+            assertFalse(decoder.next(frame));
+            assertTrue(decoder.hasPartialFrame());
+        }
+        decoder.feed(bytes, bytes.length - 1, 1);
+
+        assertTrue(decoder.next(frame));
+        assertEquals(0x0D, frame.getCommand());
+        assertEquals(42, frame.getValue(4));
+    }
+
+    @Test
+    void decodesConcatenatedFrames() {
+        decoder.feed(concat(response(1, true, 0x11, 0x01), response(1, true, 0x14, 0x21), response(2, false, 0x0D, 0x01)));
+
+        assertTrue(decoder.next(frame));
+        assertEquals(0x11, frame.getCommand());
+        assertTrue(decoder.next(frame));
+        assertEquals(0x14, frame.getCommand());
+        assertEquals(0x21, frame.getValue(0));
+        assertTrue(decoder.next(frame));
+        assertEquals(2, frame.getMonitorID());
+        assertFalse(frame.isAck());
+        assertFalse(decoder.next(frame));
+    }
+
+    @Test
+    void flagsBadChecksumAndResynchronizes() {
+        byte[] corrupted = response(1, true, 0x11, 0x01);
+        corrupted[corrupted.length - 1]++;
+        decoder.feed(concat(corrupted, response(1, true, 0x14, 0x21)));
+
+        assertTrue(decoder.next(frame));
+        assertFalse(frame.isChecksumValid());
+        assertEquals(1, decoder.getChecksumErrors());
+        assertTrue(decoder.next(frame));
+        assertTrue(frame.isChecksumValid());
+        assertEquals(0x14, frame.getCommand());
+        assertFalse(decoder.next(frame));
+    }
+
+    @Test
+    void flagsUnknownAcknowledgementAsInvalid() {
+        byte[] nak = response(1, false, 0x11, 0x01);
+        byte[] unknown = response(1, true, 0x11, 0x01);
+        unknown[4] = 'X';
+        unknown[unknown.length - 1] += 'X' - 'A';
+        decoder.feed(concat(nak, unknown, response(1, true, 0x14, 0x21)));
+
+        assertTrue(decoder.next(frame));
+        assertTrue(frame.isChecksumValid());
+        assertFalse(frame.isAck());
+        assertTrue(decoder.next(frame));
+        assertFalse(frame.isChecksumValid());
+        //the frame length passed the checksum, the whole frame is skipped
+        assertTrue(decoder.next(frame));
+        assertTrue(frame.isChecksumValid());
+        assertEquals(0x14, frame.getCommand());
+        assertEquals(0, decoder.getChecksumErrors());
+    }
+
+    @Test
+    void decodesHeaderByteInsideValues() {
+        //a stray header byte ahead of the frame, and header bytes among the values
+        decoder.feed(concat(new byte[]{SamsungMDCUtils.HEADER, 0x00}, response(1, true, 0x0B, 0xAA, 0xFF, 0x01, 0x05, 0xAA)));
+
+        assertTrue(decoder.next(frame));
+        assertTrue(frame.isChecksumValid());
+        assertEquals(0x0B, frame.getCommand());
+        assertEquals(5, frame.getValueCount());
+        assertEquals((byte) 0xAA, frame.getValue(0));
+        assertEquals((byte) 0xAA, frame.getValue(4));
+        assertFalse(decoder.next(frame));
+    }
+
+    @Test
+    void decodesBatchLargerThanInitialBuffer() {
+        //serial numbers of a 64 monitor chain in a single read, over 4 maximum frames
+        ByteArrayOutputStream batch = new ByteArrayOutputStream();
+        int[] serial = new int[18];
+        for (int monitorID = 1; monitorID <= 64; monitorID++) {
+            byte[] bytes = response(monitorID, true, 0x0B, serial);
+            batch.write(bytes, 0, bytes.length);
+        }
+        byte[] bytes = batch.toByteArray();
+        assertTrue(bytes.length > SamsungMDCFrameDecoder.MAX_FRAME_SIZE * 4);
+        decoder.feed(bytes);
+
+        for (int monitorID = 1; monitorID <= 64; monitorID++) {
+            assertTrue(decoder.next(frame));
+            assertTrue(frame.isChecksumValid());
+            assertEquals(monitorID, frame.getMonitorID());
+        }
+        assertFalse(decoder.next(frame));
+    }
+
+    @Test
+    void keepsNewestBytesOnOverflow() {
+        decoder.feed(new byte[SamsungMDCFrameDecoder.MAX_BUFFER_SIZE]);
+        decoder.feed(response(7, true, 0x11, 0x01));
+
+        assertTrue(decoder.next(frame));
+        assertEquals(7, frame.getMonitorID());
+        assertTrue(frame.isChecksumValid());
+        assertFalse(decoder.next(frame));
+    }
+
+    @Test
+    void resetDropsPartialFrame() {
+        byte[] bytes = response(1, true, 0x11, 0x01);
+        decoder.feed(bytes, 0, 4);
+        decoder.reset();
+        decoder.feed(bytes);
+
+        assertTrue(decoder.next(frame));
+        assertTrue(frame.isChecksumValid());
+    }
+}
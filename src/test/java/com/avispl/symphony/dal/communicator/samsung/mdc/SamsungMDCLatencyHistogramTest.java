@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.communicator.samsung.mdc;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Percentiles of {@link SamsungMDCLatencyHistogram}
+ */
+class SamsungMDCLatencyHistogramTest {
+
+    @Test
+    void reportsNothingWhenEmpty() {
+        SamsungMDCLatencyHistogram histogram = new SamsungMDCLatencyHistogram();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getPercentile(50));
+    }
+
+    @Test
+    void recordsSmallValuesExactly() {
+        SamsungMDCLatencyHistogram histogram = new SamsungMDCLatencyHistogram();
+        for (int value = 0; value < 8; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(8, histogram.getCount());
+        assertEquals(3, histogram.getPercentile(50));
+        assertEquals(7, histogram.getPercentile(100));
+    }
+
+    @Test
+    void reportsPercentilesWithinBucketPrecision() {
+        SamsungMDCLatencyHistogram histogram = new SamsungMDCLatencyHistogram();
+        for (int value = 1; value <= 10000; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(10000, histogram.getCount());
+        assertEquals(10000, histogram.getMax());
+        assertWithin(5000, histogram.getPercentile(50));
+        assertWithin(9500, histogram.getPercentile(95));
+        assertEquals(10000, histogram.getPercentile(100));
+    }
+
+    @Test
+    void neverReportsMoreThanMax() {
+        SamsungMDCLatencyHistogram histogram = new SamsungMDCLatencyHistogram();
+        histogram.record(1000);
+        histogram.record(-5);
+
+        assertEquals(1000, histogram.getPercentile(99));
+        assertEquals(0, histogram.getPercentile(50));
+    }
+
+    /**
+     * This method is used to check that a percentile is the upper bound of the bucket of the expected value
+     * @param expected This is the exact percentile
+     * @param actual This is the reported percentile
+     */
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected * 1.125, "expected about " + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.communicator.samsung.mdc;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.avispl.symphony.dal.communicator.samsung.mdc.SamsungMDCConstants.commandNames;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Command timeouts derived by {@link SamsungMDCRoundTrips}
+ */
+class SamsungMDCRoundTripsTest {
+    private SamsungMDCRoundTrips roundTrips;
+
+    @BeforeEach
+    void setUp() {
+        roundTrips = new SamsungMDCRoundTrips();
+    }
+
+    @Test
+    void hasNoTimeoutBeforeFirstResponse() {
+        assertEquals(0, roundTrips.getTimeout(commandNames.power, 1000));
+        roundTrips.timedOut(commandNames.power);
+        assertEquals(0, roundTrips.getTimeout(commandNames.power, 1000));
+    }
+
+    @Test
+    void smoothsRoundTrips() {
+        //first sample: smoothed 100, deviation 50
+        roundTrips.record(commandNames.power, TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(300, roundTrips.getTimeout(commandNames.power, 0));
+
+        //deviation 50 + (|100 - 200| - 50) / 4 = 62.5, smoothed 100 + (200 - 100) / 8 = 112.5
+        roundTrips.record(commandNames.power, TimeUnit.MILLISECONDS.toNanos(200));
+        assertEquals(363, roundTrips.getTimeout(commandNames.power, 0));
+
+        //other commands keep their own round trips
+        assertEquals(0, roundTrips.getTimeout(commandNames.status, 0));
+    }
+
+    @Test
+    void appliesMinimumTimeout() {
+        roundTrips.record(commandNames.input, TimeUnit.MILLISECONDS.toNanos(20));
+
+        assertEquals(1000, roundTrips.getTimeout(commandNames.input, 1000));
+        assertEquals(60, roundTrips.getTimeout(commandNames.input, 0));
+    }
+
+    @Test
+    void backsOffAfterTimeouts() {
+        roundTrips.record(commandNames.status, TimeUnit.MILLISECONDS.toNanos(100));
+
+        roundTrips.timedOut(commandNames.status);
+        assertEquals(600, roundTrips.getTimeout(commandNames.status, 0));
+        roundTrips.timedOut(commandNames.status);
+        assertEquals(1200, roundTrips.getTimeout(commandNames.status, 0));
+
+        //doubled at most 6 times
+        for (int i = 0; i < 10; i++) {
+            roundTrips.timedOut(commandNames.status);
+        }
+        assertEquals(300 << 6, roundTrips.getTimeout(commandNames.status, 0));
+
+        //a response resets the backoff: smoothed 100, deviation 50 - 50 / 4 = 37.5
+        roundTrips.record(commandNames.status, TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(250, roundTrips.getTimeout(commandNames.status, 0));
+    }
+}
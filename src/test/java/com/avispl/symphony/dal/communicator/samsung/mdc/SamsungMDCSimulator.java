@@ -0,0 +1,695 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.communicator.samsung.mdc;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.avispl.symphony.dal.communicator.samsung.mdc.SamsungMDCConstants.*;
+
+/**
+ * In-process TCP stand-in for Samsung MDC displays, answering power (0x11), input (0x14), status (0x0D),
+ * display status (0x00), identity (serial number, software version, model name and code) and telemetry (volume, mute,
+ * brightness, picture mode) requests for any monitor ID on any number of ports. Every display already known on a port
+ * executes requests broadcast to ID 0xFE, without answering them.
+ * Latency, jitter, NAKs, bad checksums, TCP segmentation and the power ON warm-up window are configurable
+ * and can be changed while running.
+ *
+ * Run standalone with {@code java SamsungMDCSimulator <port> [<port>...]}
+ */
+public class SamsungMDCSimulator implements Closeable {
+
+    /**
+     * How the responses are cut into TCP segments:
+     * WHOLE writes each response on its own, SPLIT writes each response in two segments,
+     * CONCATENATED writes all responses to one read in a single segment preceded by a stray byte
+     */
+    public enum segmentationNames {WHOLE, SPLIT, CONCATENATED}
+
+    private static final byte ACK = 'A';
+    private static final byte NAK = 'N';
+    private static final int SPLIT_DELAY = 5;
+
+    /**
+     * State of one display, identified by port and monitor ID
+     */
+    private static class Display {
+        private volatile byte power = powerStatusNames.ON.code;
+        private volatile byte input = inputNames.HDMI_1.code;
+        private volatile byte volume = 20;
+        private volatile byte mute = muteStatusNames.OFF.code;
+        private volatile byte brightness = 50;
+        private volatile byte pictureMode = pictureModeNames.STANDARD.code;
+        private volatile byte temperature = 42;
+        private volatile long warmupEnd;
+    }
+
+    /**
+     * Accepted connection, responses are delivered in order through {@link #lastDelivery}
+     */
+    private static class Connection {
+        private final SocketChannel channel;
+        private final int port;
+        private final ByteBuffer in = ByteBuffer.allocate(1024);
+        private final Queue<byte[]> pending = new ConcurrentLinkedQueue<>();
+        private long lastDelivery;
+
+        private Connection(SocketChannel channel, int port) {
+            this.channel = channel;
+            this.port = port;
+        }
+    }
+
+    private final Map<Integer, Display> displays = new ConcurrentHashMap<>();
+    private final Map<Byte, Integer> latencies = new ConcurrentHashMap<>();
+    private final Set<Byte> nakCommands = ConcurrentHashMap.newKeySet();
+    private final Queue<ServerSocketChannel> pendingServers = new ConcurrentLinkedQueue<>();
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong connectionCount = new AtomicLong();
+
+    private final Selector selector;
+    private final ScheduledExecutorService responder;
+    private final Thread ioThread;
+
+    private volatile int latency;
+    private volatile int jitter;
+    private volatile double nakRate;
+    private volatile double badChecksumRate;
+    private volatile segmentationNames segmentation = segmentationNames.WHOLE;
+    private volatile int warmupTime;
+    private volatile boolean running = true;
+    //error that stopped the selector loop or closing the selector, null if none
+    private volatile IOException failure;
+
+    public SamsungMDCSimulator() throws IOException {
+        selector = Selector.open();
+        responder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "SamsungMDC simulator responder");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ioThread = new Thread(this::run, "SamsungMDC simulator");
+        ioThread.setDaemon(true);
+        ioThread.start();
+    }
+
+    /**
+     * This method is used to start accepting connections on a local port
+     * @param port This is the port to listen on, 0 for any free port
+     * @return int This returns the port actually listened on
+     * @throws IOException if the port can't be bound
+     */
+    public int listen(int port) throws IOException {
+        ServerSocketChannel server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress("127.0.0.1", port), 1024);
+        server.configureBlocking(false);
+        pendingServers.add(server);
+        selector.wakeup();
+        return ((InetSocketAddress) server.getLocalAddress()).getPort();
+    }
+
+    /**
+     * Retrieves {@link #latency}
+     *
+     * @return value of {@link #latency}
+     */
+    public int getLatency() {
+        return latency;
+    }
+
+    /**
+     * Sets {@link #latency} value, the delay in ms before any command is answered
+     *
+     * @param latency new value of {@link #latency}
+     */
+    public void setLatency(int latency) {
+        this.latency = latency;
+    }
+
+    /**
+     * This method is used to set the delay before a given command is answered, overriding {@link #latency}
+     * @param command This is the command
+     * @param latency This is the delay in ms
+     */
+    public void setLatency(commandNames command, int latency) {
+        latencies.put(SamsungMDCCommand.of(command).getCode(), latency);
+    }
+
+    /**
+     * Retrieves {@link #jitter}
+     *
+     * @return value of {@link #jitter}
+     */
+    public int getJitter() {
+        return jitter;
+    }
+
+    /**
+     * Sets {@link #jitter} value, the maximum random delay in ms added to the latency
+     *
+     * @param jitter new value of {@link #jitter}
+     */
+    public void setJitter(int jitter) {
+        this.jitter = jitter;
+    }
+
+    /**
+     * Retrieves {@link #nakRate}
+     *
+     * @return value of {@link #nakRate}
+     */
+    public double getNakRate() {
+        return nakRate;
+    }
+
+    /**
+     * Sets {@link #nakRate} value, the share of requests answered with a NAK
+     *
+     * @param nakRate new value of {@link #nakRate}
+     */
+    public void setNakRate(double nakRate) {
+        this.nakRate = nakRate;
+    }
+
+    /**
+     * This method is used to make a command always answered with a NAK, as unsupported commands are
+     * @param command This is the command
+     * @param nak This is true to answer NAK, false to answer normally
+     */
+    public void setNak(commandNames command, boolean nak) {
+        if (nak) {
+            nakCommands.add(SamsungMDCCommand.of(command).getCode());
+        } else {
+            nakCommands.remove(SamsungMDCCommand.of(command).getCode());
+        }
+    }
+
+    /**
+     * Retrieves {@link #badChecksumRate}
+     *
+     * @return value of {@link #badChecksumRate}
+     */
+    public double getBadChecksumRate() {
+        return badChecksumRate;
+    }
+
+    /**
+     * Sets {@link #badChecksumRate} value, the share of responses sent with a wrong checksum
+     *
+     * @param badChecksumRate new value of {@link #badChecksumRate}
+     */
+    public void setBadChecksumRate(double badChecksumRate) {
+        this.badChecksumRate = badChecksumRate;
+    }
+
+    /**
+     * Retrieves {@link #segmentation}
+     *
+     * @return value of {@link #segmentation}
+     */
+    public segmentationNames getSegmentation() {
+        return segmentation;
+    }
+
+    /**
+     * Sets {@link #segmentation} value
+     *
+     * @param segmentation new value of {@link #segmentation}
+     */
+    public void setSegmentation(segmentationNames segmentation) {
+        this.segmentation = segmentation;
+    }
+
+    /**
+     * Retrieves {@link #warmupTime}
+     *
+     * @return value of {@link #warmupTime}
+     */
+    public int getWarmupTime() {
+        return warmupTime;
+    }
+
+    /**
+     * Sets {@link #warmupTime} value, the time in ms after power ON during which the display drops connections
+     *
+     * @param warmupTime new value of {@link #warmupTime}
+     */
+    public void setWarmupTime(int warmupTime) {
+        this.warmupTime = warmupTime;
+    }
+
+    /**
+     * This method is used to set the power of a display
+     * @param port This is the port the display is reached on
+     * @param monitorID This is the monitor ID of the display
+     * @param power This is the new power status
+     */
+    public void setPower(int port, int monitorID, powerStatusNames power) {
+        display(port, (byte) monitorID).power = power.code;
+    }
+
+    /**
+     * This method is used to set the temperature reported by a display
+     * @param port This is the port the display is reached on
+     * @param monitorID This is the monitor ID of the display
+     * @param temperature This is the temperature in degrees
+     */
+    public void setTemperature(int port, int monitorID, int temperature) {
+        display(port, (byte) monitorID).temperature = (byte) temperature;
+    }
+
+    /**
+     * Retrieves the number of requests received since start
+     *
+     * @return number of requests
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * Retrieves the number of connections accepted since start
+     *
+     * @return number of connections
+     */
+    public long getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    /**
+     * Retrieves {@link #failure}
+     *
+     * @return value of {@link #failure}
+     */
+    public IOException getFailure() {
+        return failure;
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        selector.wakeup();
+        try {
+            ioThread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        responder.shutdownNow();
+    }
+
+    /**
+     * This method is used to run the selector loop accepting connections and reading requests
+     */
+    private void run() {
+        try {
+            while (running) {
+                registerServers();
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept(key);
+                    } else if (key.isReadable()) {
+                        read(key);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            failure = e;
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                closeQuietly(key);
+            }
+            try {
+                selector.close();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+    }
+
+    /**
+     * This method is used to register the servers added by {@link #listen(int)} with the selector
+     * @throws IOException if a server can't be registered
+     */
+    private void registerServers() throws IOException {
+        ServerSocketChannel server;
+        while ((server = pendingServers.poll()) != null) {
+            server.register(selector, SelectionKey.OP_ACCEPT);
+        }
+    }
+
+    /**
+     * This method is used to accept a connection
+     * @param key This is the selection key of the server
+     * @throws IOException if the connection can't be registered
+     */
+    private void accept(SelectionKey key) throws IOException {
+        ServerSocketChannel server = (ServerSocketChannel) key.channel();
+        SocketChannel channel = server.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.socket().setTcpNoDelay(true);
+        int port = ((InetSocketAddress) server.getLocalAddress()).getPort();
+        channel.register(selector, SelectionKey.OP_READ, new Connection(channel, port));
+        connectionCount.incrementAndGet();
+    }
+
+    /**
+     * This method is used to read requests from a connection and schedule their responses
+     * @param key This is the selection key of the connection
+     */
+    private void read(SelectionKey key) {
+        Connection connection = (Connection) key.attachment();
+        try {
+            if (connection.channel.read(connection.in) < 0) {
+                closeQuietly(key);
+                return;
+            }
+        } catch (IOException e) {
+            closeQuietly(key);
+            return;
+        }
+
+        List<byte[]> responses = new ArrayList<>();
+        List<Integer> delays = new ArrayList<>();
+        ByteBuffer in = connection.in;
+        in.flip();
+        while (in.remaining() >= 5) {
+            int start = in.position();
+            if (in.get(start) != SamsungMDCUtils.HEADER) {
+                in.get();
+                continue;
+            }
+            int length = in.get(start + 3) & 0xFF;
+            if (in.remaining() < length + 5) {
+                break;
+            }
+            byte command = in.get(start + 1);
+            byte monitorID = in.get(start + 2);
+            byte[] param = new byte[length];
+            for (int i = 0; i < length; i++) {
+                param[i] = in.get(start + 4 + i);
+            }
+            in.position(start + length + 5);
+            while (in.hasRemaining() && (in.get(in.position()) == 0x0D || in.get(in.position()) == 0x0A)) {
+                in.get();
+            }
+            requestCount.incrementAndGet();
+
+            if ((monitorID & 0xFF) == BROADCAST_MONITOR_ID) {
+                // every display of the port executes a broadcast, none of them answers
+                for (Map.Entry<Integer, Display> entry : displays.entrySet()) {
+                    if (entry.getKey() >> 8 == connection.port) {
+                        answer(entry.getValue(), (byte) (int) entry.getKey(), command, param);
+                    }
+                }
+                continue;
+            }
+
+            Display display = display(connection.port, monitorID);
+            if (System.nanoTime() - display.warmupEnd < 0) {
+                // the display drops connections while it warms up
+                closeQuietly(key);
+                return;
+            }
+            responses.add(answer(display, monitorID, command, param));
+            delays.add(delay(command));
+        }
+        in.compact();
+
+        if (!responses.isEmpty()) {
+            schedule(key, connection, responses, delays);
+        }
+    }
+
+    /**
+     * This method is used to schedule the delivery of responses, in order, according to {@link #segmentation}
+     * @param key This is the selection key of the connection
+     * @param connection This is the connection
+     * @param responses This is the list of responses
+     * @param delays This is the delay in ms of each response
+     */
+    private void schedule(SelectionKey key, Connection connection, List<byte[]> responses, List<Integer> delays) {
+        long now = System.currentTimeMillis();
+        segmentationNames segmentation = this.segmentation;
+
+        if (segmentation == segmentationNames.CONCATENATED) {
+            int size = 1;
+            int delay = 0;
+            for (int i = 0; i < responses.size(); i++) {
+                size += responses.get(i).length;
+                delay = Math.max(delay, delays.get(i));
+            }
+            ByteBuffer all = ByteBuffer.allocate(size);
+            all.put((byte) 0x12);
+            for (byte[] response : responses) {
+                all.put(response);
+            }
+            deliver(key, connection, all.array(), now + delay);
+            return;
+        }
+
+        for (int i = 0; i < responses.size(); i++) {
+            byte[] response = responses.get(i);
+            long at = now + delays.get(i);
+            if (segmentation == segmentationNames.SPLIT) {
+                byte[] head = new byte[3];
+                byte[] tail = new byte[response.length - 3];
+                System.arraycopy(response, 0, head, 0, head.length);
+                System.arraycopy(response, head.length, tail, 0, tail.length);
+                at = deliver(key, connection, head, at);
+                deliver(key, connection, tail, at + SPLIT_DELAY);
+            } else {
+                deliver(key, connection, response, at);
+            }
+        }
+    }
+
+    /**
+     * This method is used to schedule a write no earlier than the previous one on the same connection.
+     * Writes due at the same time may fire in any order, so each one writes the oldest pending data of the connection
+     * @param key This is the selection key of the connection
+     * @param connection This is the connection
+     * @param bytes This is the data to write
+     * @param at This is the time in ms at which the data should be written
+     * @return long This returns the time in ms at which the data will be written
+     */
+    private long deliver(SelectionKey key, Connection connection, byte[] bytes, long at) {
+        long time = Math.max(at, connection.lastDelivery);
+        connection.lastDelivery = time;
+        connection.pending.add(bytes);
+        responder.schedule(() -> write(key, connection, connection.pending.poll()), time - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        return time;
+    }
+
+    /**
+     * This method is used to write data to a connection
+     * @param key This is the selection key of the connection
+     * @param connection This is the connection
+     * @param bytes This is the data to write
+     */
+    private void write(SelectionKey key, Connection connection, byte[] bytes) {
+        ByteBuffer out = ByteBuffer.wrap(bytes);
+        try {
+            while (out.hasRemaining() && connection.channel.isOpen()) {
+                if (connection.channel.write(out) == 0) {
+                    Thread.yield();
+                }
+            }
+        } catch (IOException e) {
+            closeQuietly(key);
+        }
+    }
+
+    /**
+     * This method is used to apply a request to a display and build the response
+     * @param display This is the display receiving the request
+     * @param monitorID This is the monitor ID the request is addressed to
+     * @param command This is the command byte of the request
+     * @param param This is the list of parameters of the request
+     * @return byte[] This returns the response frame
+     */
+    private byte[] answer(Display display, byte monitorID, byte command, byte[] param) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        commandNames name = SamsungMDCCommand.byCode(command);
+        byte[] response;
+
+        if (name == null || nakCommands.contains(command) || random.nextDouble() < nakRate) {
+            response = response(monitorID, NAK, command, (byte) 0x01);
+        } else {
+            switch (name) {
+                case power:
+                    if (param.length > 0) {
+                        byte on = powerStatusNames.ON.code;
+                        if (param[0] == on && display.power != on && warmupTime > 0) {
+                            display.warmupEnd = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(warmupTime);
+                        }
+                        display.power = param[0];
+                    }
+                    response = response(monitorID, ACK, command, display.power);
+                    break;
+                case input:
+                    if (param.length > 0) {
+                        display.input = param[0];
+                    }
+                    response = response(monitorID, ACK, command, display.input);
+                    break;
+                case status:
+                    response = response(monitorID, ACK, command, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x00, display.temperature, (byte) 0x00);
+                    break;
+                case displayStatus:
+                    response = response(monitorID, ACK, command, display.power, display.volume, display.mute, display.input, (byte) 0x10, (byte) 0x00, (byte) 0x00);
+                    break;
+                case serialNumber:
+                    response = response(monitorID, ACK, command, String.format("SIM%015d", monitorID & 0xFF).getBytes(StandardCharsets.US_ASCII));
+                    break;
+                case softwareVersion:
+                    response = response(monitorID, ACK, command, "S-SIM0000-1000.0".getBytes(StandardCharsets.US_ASCII));
+                    break;
+                case modelName:
+                    response = response(monitorID, ACK, command, "SIMULATOR".getBytes(StandardCharsets.US_ASCII));
+                    break;
+                case modelCode:
+                    response = response(monitorID, ACK, command, (byte) 0x01, (byte) 0x45, (byte) 0x00);
+                    break;
+                case volume:
+                    if (param.length > 0) {
+                        display.volume = param[0];
+                    }
+                    response = response(monitorID, ACK, command, display.volume);
+                    break;
+                case mute:
+                    if (param.length > 0) {
+                        display.mute = param[0];
+                    }
+                    response = response(monitorID, ACK, command, display.mute);
+                    break;
+                case brightness:
+                    if (param.length > 0) {
+                        display.brightness = param[0];
+                    }
+                    response = response(monitorID, ACK, command, display.brightness);
+                    break;
+                case pictureMode:
+                    if (param.length > 0) {
+                        display.pictureMode = param[0];
+                    }
+                    response = response(monitorID, ACK, command, display.pictureMode);
+                    break;
+                default:
+                    response = response(monitorID, NAK, command, (byte) 0x01);
+                    break;
+            }
+        }
+
+        if (random.nextDouble() < badChecksumRate) {
+            response[response.length - 1]++;
+        }
+        return response;
+    }
+
+    /**
+     * This method is used to get the delay before answering a command
+     * @param command This is the command byte
+     * @return int This returns the delay in ms
+     */
+    private int delay(byte command) {
+        int delay = latencies.getOrDefault(command, latency);
+        int jitter = this.jitter;
+        return jitter > 0 ? delay + ThreadLocalRandom.current().nextInt(jitter + 1) : delay;
+    }
+
+    /**
+     * This method is used to get the state of a display, created on first use
+     * @param port This is the port the display is reached on
+     * @param monitorID This is the monitor ID of the display
+     * @return Display This returns the display state
+     */
+    private Display display(int port, byte monitorID) {
+        return displays.computeIfAbsent(port << 8 | monitorID & 0xFF, k -> new Display());
+    }
+
+    /**
+     * This method is used to build a response frame
+     * @param monitorID This is the monitor ID answering
+     * @param ack This is the ACK or NAK byte
+     * @param command This is the command being answered
+     * @param values This is the list of values
+     * @return byte[] This returns the response frame
+     */
+    static byte[] response(byte monitorID, byte ack, byte command, byte... values) {
+        byte[] response = new byte[values.length + 7];
+        response[0] = SamsungMDCUtils.HEADER;
+        response[1] = (byte) 0xFF;
+        response[2] = monitorID;
+        response[3] = (byte) (values.length + 2);
+        response[4] = ack;
+        response[5] = command;
+        System.arraycopy(values, 0, response, 6, values.length);
+
+        int checksum = 0;
+        for (int i = 1; i < response.length - 1; i++) {
+            checksum += response[i];
+        }
+        response[response.length - 1] = (byte) checksum;
+        return response;
+    }
+
+    /**
+     * This method is used to close a connection or a server
+     * @param key This is the selection key of the channel
+     */
+    private static void closeQuietly(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            // already closed
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        SamsungMDCSimulator simulator = new SamsungMDCSimulator();
+        simulator.setLatency(Integer.getInteger("latency", 20));
+        simulator.setJitter(Integer.getInteger("jitter", 0));
+        simulator.setWarmupTime(Integer.getInteger("warmupTime", 0));
+        simulator.setNakRate(Double.parseDouble(System.getProperty("nakRate", "0")));
+        simulator.setBadChecksumRate(Double.parseDouble(System.getProperty("badChecksumRate", "0")));
+        simulator.setSegmentation(segmentationNames.valueOf(System.getProperty("segmentation", segmentationNames.WHOLE.name())));
+        for (String port : args.length > 0 ? args : new String[]{"1515"}) {
+            System.out.println("Listening on " + simulator.listen(Integer.parseInt(port)));
+        }
+        Thread.currentThread().join();
+    }
+}
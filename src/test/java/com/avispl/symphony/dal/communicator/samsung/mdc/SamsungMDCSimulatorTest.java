@@ -0,0 +1,459 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.communicator.samsung.mdc;
+
+import java.io.File;
+import java.net.ConnectException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.avispl.symphony.api.dal.dto.control.ControllableProperty;
+import com.avispl.symphony.api.dal.dto.monitor.ExtendedStatistics;
+import com.avispl.symphony.api.dal.dto.monitor.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static com.avispl.symphony.dal.communicator.samsung.mdc.SamsungMDCConstants.commandNames;
+import static com.avispl.symphony.dal.communicator.samsung.mdc.SamsungMDCConstants.powerStatusNames;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Poll modes of {@link SamsungMDCDevice} run against {@link SamsungMDCSimulator}
+ */
+@Timeout(60)
+class SamsungMDCSimulatorTest {
+    private SamsungMDCSimulator simulator;
+    private SamsungMDCDevice device;
+    private int port;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        simulator = new SamsungMDCSimulator();
+        port = simulator.listen(0);
+        device = new SamsungMDCDevice();
+        device.setHost("127.0.0.1");
+        device.setPort(port);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        device.destroy();
+        simulator.close();
+        assertNull(simulator.getFailure());
+    }
+
+    /**
+     * Polls the statistics once
+     * @return Map<String, String> This returns the statistics
+     */
+    private Map<String, String> poll() throws Exception {
+        return ((ExtendedStatistics) device.getMultipleStatistics().get(0)).getStatistics();
+    }
+
+    /**
+     * Polls the statistics once
+     * @return long This returns the number of requests the simulator received during the poll
+     */
+    private long countRequests() throws Exception {
+        long before = simulator.getRequestCount();
+        poll();
+        return simulator.getRequestCount() - before;
+    }
+
+    @Test
+    void pipelinedPollReadsEveryMonitor() throws Exception {
+        device.setMonitorIDs("1-2");
+        device.setPollMode("PIPELINED");
+        device.init();
+        simulator.setPower(port, 2, powerStatusNames.OFF);
+        simulator.setTemperature(port, 1, 37);
+
+        Map<String, String> statistics = poll();
+        assertEquals("1", statistics.get("Monitor 1#power"));
+        assertEquals("HDMI_1", statistics.get("Monitor 1#input"));
+        assertEquals("37", statistics.get("Monitor 1#temperature"));
+        assertEquals("DETECTED", statistics.get("Monitor 1#sync"));
+        assertEquals("0", statistics.get("Monitor 2#power"));
+        assertEquals("SIMULATOR", statistics.get("Monitor 2#model name"));
+        //monitor 2 is in standby, its power is not due yet
+        assertEquals(3, countRequests());
+    }
+
+    @Test
+    void pipelinedPollSendsPowerStatusAndInput() throws Exception {
+        device.setPollMode("PIPELINED");
+        device.init();
+        poll();
+
+        assertEquals(3, countRequests());
+        simulator.setTemperature(port, 1, 55);
+        assertEquals("55", poll().get("temperature"));
+    }
+
+    @Test
+    void pipelinedPollReadsResponsesSplitAcrossReads() throws Exception {
+        device.setPollMode("PIPELINED");
+        device.init();
+        simulator.setSegmentation(SamsungMDCSimulator.segmentationNames.SPLIT);
+        simulator.setLatency(10);
+
+        Map<String, String> statistics = poll();
+        assertEquals("1", statistics.get("power"));
+        assertEquals("HDMI_1", statistics.get("input"));
+        assertEquals("42", statistics.get("temperature"));
+        //no response requested again on its own
+        assertEquals(3, countRequests());
+    }
+
+    @Test
+    void pipelinedPollReadsChainResponsesSplitAcrossReads() throws Exception {
+        device.setMonitorIDs("1-4");
+        device.setPollMode("PIPELINED");
+        device.init();
+        simulator.setSegmentation(SamsungMDCSimulator.segmentationNames.SPLIT);
+
+        for (int i = 0; i < 5; i++) {
+            long start = System.nanoTime();
+            Map<String, String> statistics = poll();
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5), "poll " + i + " stalled");
+            for (int monitorID = 1; monitorID <= 4; monitorID++) {
+                assertEquals("1", statistics.get("Monitor " + monitorID + "#power"));
+                assertEquals("HDMI_1", statistics.get("Monitor " + monitorID + "#input"));
+                assertEquals("42", statistics.get("Monitor " + monitorID + "#temperature"));
+                assertFalse(statistics.containsKey("Monitor " + monitorID + "#status age"));
+            }
+        }
+    }
+
+    @Test
+    void chainControlsReadResponsesSplitAcrossReads() throws Exception {
+        device.setMonitorIDs("1-8");
+        device.setPollMode("PIPELINED");
+        device.init();
+        simulator.setSegmentation(SamsungMDCSimulator.segmentationNames.SPLIT);
+        //one response at a time, each in two segments
+        simulator.setLatency(10);
+
+        List<ControllableProperty> controls = new ArrayList<>();
+        for (int monitorID = 1; monitorID <= 8; monitorID++) {
+            ControllableProperty control = new ControllableProperty();
+            control.setProperty("Monitor " + monitorID + "#power");
+            control.setValue("0");
+            controls.add(control);
+        }
+        device.controlProperties(controls);
+
+        Map<String, String> statistics = poll();
+        for (int monitorID = 1; monitorID <= 8; monitorID++) {
+            assertEquals("0", statistics.get("Monitor " + monitorID + "#power"));
+        }
+    }
+
+    @Test
+    void broadcastPowerReachesEveryMonitor() throws Exception {
+        device.setMonitorIDs("1-4");
+        device.setPollMode("PIPELINED");
+        device.init();
+        poll();
+
+        ControllableProperty control = new ControllableProperty();
+        control.setProperty("power");
+        control.setValue("0");
+        device.controlProperty(control);
+
+        Map<String, String> statistics = poll();
+        for (int monitorID = 1; monitorID <= 4; monitorID++) {
+            assertEquals("0", statistics.get("Monitor " + monitorID + "#power"));
+        }
+    }
+
+    @Test
+    void groupControlIsVerifiedOnEveryMember() throws Exception {
+        device.setMonitorIDs("1-4");
+        device.setMonitorGroups("wall=1-2;lobby=3-4");
+        device.setGroupVerifyDelay(50);
+        device.init();
+
+        ControllableProperty control = new ControllableProperty();
+        control.setProperty("Group wall#input");
+        control.setValue("PC");
+        device.controlProperty(control);
+
+        Map<String, String> statistics = poll();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!"2/2".equals(statistics.get("GroupControl#confirmed")) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            statistics = poll();
+        }
+        assertEquals("2/2", statistics.get("GroupControl#confirmed"));
+        assertEquals("OK", statistics.get("GroupControl#Monitor 1"));
+        assertEquals("OK", statistics.get("GroupControl#Monitor 2"));
+        assertEquals("PC", statistics.get("Monitor 2#input"));
+        assertEquals("HDMI_1", statistics.get("Monitor 3#input"));
+    }
+
+    @Test
+    void rejectedControlFailsTheCaller() throws Exception {
+        device.init();
+        poll();
+        simulator.setNak(commandNames.power, true);
+
+        ControllableProperty control = new ControllableProperty();
+        control.setProperty("power");
+        control.setValue("0");
+        RuntimeException e = assertThrows(RuntimeException.class, () -> device.controlProperty(control));
+        assertTrue(e.getMessage().contains("NAK"));
+    }
+
+    @Test
+    void controlWaitingForAPollIsWithdrawnAtItsTimeout() throws Exception {
+        device.setControlTimeout(300);
+        device.init();
+        poll();
+        simulator.setLatency(commandNames.status, 1500);
+        CompletableFuture<List<Statistics>> polling = device.getMultipleStatisticsAsync(0);
+        Thread.sleep(200);
+
+        ControllableProperty control = new ControllableProperty();
+        control.setProperty("power");
+        control.setValue("0");
+        long start = System.nanoTime();
+        assertThrows(TimeoutException.class, () -> device.controlProperty(control));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+
+        polling.get();
+        simulator.setLatency(commandNames.status, 0);
+        assertEquals("1", poll().get("power"));
+    }
+
+    @Test
+    void wireTraceRecordsEveryWriteAndRead() throws Exception {
+        device.setPollMode("PIPELINED");
+        device.init();
+        poll();
+
+        File file = File.createTempFile("mdc", ".trace");
+        file.deleteOnExit();
+        //one write, then at least one read
+        assertTrue(device.dumpWireTrace(file.getPath()) >= 2);
+    }
+
+    @Test
+    void identityIsReadOncePerConnection() throws Exception {
+        device.setPollMode("PIPELINED");
+        device.init();
+
+        long before = simulator.getRequestCount();
+        Map<String, String> statistics = poll();
+        //power, status and input, then serial number, software version, model name and model code
+        assertEquals(7, simulator.getRequestCount() - before);
+        assertEquals("SIMULATOR", statistics.get("model name"));
+
+        assertEquals(3, countRequests());
+        assertEquals("SIMULATOR", poll().get("model name"));
+    }
+
+    @Test
+    void telemetryCommandsArePolledWhenListed() throws Exception {
+        device.setPollMode("PIPELINED");
+        device.setTelemetryCommands("volume,mute");
+        device.init();
+
+        Map<String, String> statistics = poll();
+        assertEquals("20", statistics.get("volume"));
+        assertEquals("OFF", statistics.get("mute"));
+        assertFalse(statistics.containsKey("brightness"));
+        //power, status, input, volume and mute in one write
+        assertEquals(5, countRequests());
+    }
+
+    @Test
+    void pollBudgetSkipsCommandsNotStartedInTime() throws Exception {
+        device.init();
+        poll();
+        simulator.setLatency(100);
+        device.setPollBudget(150);
+
+        Map<String, String> statistics = poll();
+        //power and input fit in the budget, status is reported from the previous poll
+        assertEquals("status", statistics.get("stale commands"));
+        assertEquals("42", statistics.get("temperature"));
+        assertTrue(statistics.containsKey("status age"));
+        assertEquals("HDMI_1", statistics.get("input"));
+    }
+
+    @Test
+    void pollBudgetOverrunKeepsTheConnection() throws Exception {
+        device.setAdapterMetrics(true);
+        device.init();
+        poll();
+        simulator.setLatency(100);
+        device.setPollBudget(150);
+
+        Map<String, String> statistics = null;
+        for (int i = 0; i < 3; i++) {
+            //the input request started within the budget is answered after it, and neither aborted nor retried
+            statistics = poll();
+            assertEquals("status", statistics.get("stale commands"));
+            assertEquals("CONNECTED", statistics.get("connection state"));
+            assertFalse(statistics.containsKey("input age"));
+        }
+        assertEquals("0", statistics.get("AdapterMetrics#reconnects"));
+        assertEquals("0", statistics.get("AdapterMetrics#timeouts"));
+        assertEquals(1, simulator.getConnectionCount());
+    }
+
+    @Test
+    void pollBudgetBoundsReadsWithoutCommandTimeout() throws Exception {
+        device.setAdaptiveTimeouts(false);
+        device.init();
+        poll();
+        simulator.setLatency(commandNames.input, 2000);
+        device.setPollBudget(300);
+
+        //the input read is aborted at the end of the budget, status is not sent anymore
+        long start = System.currentTimeMillis();
+        Map<String, String> statistics = poll();
+        assertTrue(System.currentTimeMillis() - start < 1500);
+        assertTrue(statistics.containsKey("input age"));
+        assertEquals("status", statistics.get("stale commands"));
+        assertEquals("DISCONNECTED", statistics.get("connection state"));
+
+        simulator.setLatency(commandNames.input, 0);
+        statistics = poll();
+        assertFalse(statistics.containsKey("input age"));
+        assertEquals("CONNECTED", statistics.get("connection state"));
+    }
+
+    @Test
+    void commandTimeoutAbortsTheReadOnceWithoutBackoff() throws Exception {
+        device.setAdapterMetrics(true);
+        device.setMinCommandTimeout(100);
+        device.init();
+        poll();
+        simulator.setLatency(commandNames.status, 2000);
+
+        //the status read is aborted once its 100ms timeout expired by closing the connection, the identity read of the
+        //same poll reconnects without backoff
+        Map<String, String> statistics = poll();
+        assertTrue(statistics.containsKey("status age"));
+        assertEquals("1", statistics.get("AdapterMetrics#timeouts"));
+        assertEquals("CONNECTED", statistics.get("connection state"));
+        assertEquals(2, simulator.getConnectionCount());
+
+        simulator.setLatency(commandNames.status, 0);
+        statistics = poll();
+        assertFalse(statistics.containsKey("status age"));
+        assertEquals("1", statistics.get("AdapterMetrics#reconnects"));
+    }
+
+    @Test
+    void abortedReadIsNotSentAgain() throws Exception {
+        device.setMinCommandTimeout(100);
+        device.init();
+        poll();
+        simulator.setLatency(commandNames.status, 2000);
+
+        //power, status and input once each, then the identity read again on the new connection: the SocketCommunicator
+        //retry of the aborted status read is skipped, see SamsungMDCDevice#destroyChannel
+        long start = System.currentTimeMillis();
+        assertEquals(7, countRequests());
+        assertTrue(System.currentTimeMillis() - start < 2000);
+    }
+
+    @Test
+    void standbyMonitorPollsOnlyPower() throws Exception {
+        device.setStandbyPollInterval(200);
+        device.init();
+        simulator.setPower(port, 1, powerStatusNames.OFF);
+        poll();
+
+        Map<String, String> statistics = poll();
+        assertEquals("true", statistics.get("standby"));
+        assertEquals("42", statistics.get("temperature"));
+        assertEquals(0, countRequests());
+
+        Thread.sleep(250);
+        assertEquals(1, countRequests());
+
+        //back ON, every command is read in the same poll
+        simulator.setPower(port, 1, powerStatusNames.ON);
+        Thread.sleep(250);
+        assertEquals(3, countRequests());
+        assertFalse(poll().containsKey("standby"));
+    }
+
+    @Test
+    void displayStatusPollReadsPowerVolumeMuteAndInput() throws Exception {
+        device.setPollMode("DISPLAY_STATUS");
+        device.init();
+
+        Map<String, String> statistics = poll();
+        assertEquals("1", statistics.get("power"));
+        assertEquals("HDMI_1", statistics.get("input"));
+        assertEquals("20", statistics.get("volume"));
+        assertEquals("OFF", statistics.get("mute"));
+        assertEquals("42", statistics.get("temperature"));
+        //display status and status
+        assertEquals(2, countRequests());
+    }
+
+    @Test
+    void displayStatusPollFallsBackToSeparateCommands() throws Exception {
+        device.setPollMode("DISPLAY_STATUS");
+        device.init();
+        simulator.setNak(commandNames.displayStatus, true);
+
+        Map<String, String> statistics = poll();
+        assertEquals("1", statistics.get("power"));
+        assertEquals("HDMI_1", statistics.get("input"));
+        assertFalse(statistics.containsKey("volume"));
+        assertEquals(3, countRequests());
+    }
+
+    @Test
+    void adapterMetricsReportLatenciesAndNaks() throws Exception {
+        device.setAdapterMetrics(true);
+        device.init();
+        simulator.setNak(commandNames.status, true);
+        poll();
+
+        Map<String, String> statistics = poll();
+        assertEquals("2", statistics.get("AdapterMetrics#power count"));
+        assertTrue(statistics.containsKey("AdapterMetrics#power p95 (ms)"));
+        assertEquals("2", statistics.get("AdapterMetrics#naks"));
+        assertEquals("0", statistics.get("AdapterMetrics#checksum errors"));
+        assertEquals("0", statistics.get("AdapterMetrics#reconnects"));
+    }
+
+    @Test
+    void reconnectBacksOffWhileTheDisplayIsDown() throws Exception {
+        device.setReconnectBackoff(300);
+        device.init();
+        assertEquals("CONNECTED", poll().get("connection state"));
+
+        simulator.close();
+        assertThrows(Exception.class, this::poll);
+        //inside the backoff window the network is not touched
+        simulator = new SamsungMDCSimulator();
+        simulator.listen(port);
+        assertThrows(ConnectException.class, this::poll);
+        assertEquals(0, simulator.getConnectionCount());
+
+        Thread.sleep(700);
+        Map<String, String> statistics = poll();
+        assertEquals("CONNECTED", statistics.get("connection state"));
+        assertEquals("1", statistics.get("power"));
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.communicator.samsung.mdc;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Window aggregates and delta suppression of {@link SamsungMDCTimeSeries}
+ */
+class SamsungMDCTimeSeriesTest {
+
+    @Test
+    void aggregatesSamplesWithinWindow() {
+        SamsungMDCTimeSeries series = new SamsungMDCTimeSeries(10);
+        series.add(1000, 50);
+        series.add(2000, 40);
+        series.add(3000, 44);
+        series.add(4000, 42);
+
+        assertTrue(series.aggregate(4000, 2000));
+        assertEquals(40, series.getMin());
+        assertEquals(44, series.getMax());
+        assertEquals(42, series.getAvg());
+
+        assertTrue(series.aggregate(4000, 5000));
+        assertEquals(50, series.getMax());
+        assertEquals(44, series.getAvg());
+    }
+
+    @Test
+    void reportsEmptyWindow() {
+        SamsungMDCTimeSeries series = new SamsungMDCTimeSeries(10);
+        assertFalse(series.aggregate(1000, 1000));
+
+        series.add(1000, 42);
+        assertFalse(series.aggregate(5000, 1000));
+        assertTrue(Double.isNaN(series.getAvg()));
+    }
+
+    @Test
+    void overwritesOldestSamples() {
+        SamsungMDCTimeSeries series = new SamsungMDCTimeSeries(3);
+        series.add(1000, 99);
+        series.add(2000, 1);
+        series.add(3000, 2);
+        series.add(4000, 3);
+
+        assertTrue(series.aggregate(4000, 10000));
+        assertEquals(1, series.getMin());
+        assertEquals(3, series.getMax());
+        assertEquals(2, series.getAvg());
+    }
+
+    @Test
+    void suppressesUnchangedValuesUntilHeartbeat() {
+        SamsungMDCTimeSeries series = new SamsungMDCTimeSeries(3);
+
+        assertTrue(series.emit(1000, 42, 5000));
+        assertFalse(series.emit(2000, 42, 5000));
+        assertTrue(series.emit(3000, 43, 5000));
+        assertFalse(series.emit(7999, 43, 5000));
+        assertTrue(series.emit(8000, 43, 5000));
+    }
+}
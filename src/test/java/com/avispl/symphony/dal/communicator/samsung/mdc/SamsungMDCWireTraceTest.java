@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.communicator.samsung.mdc;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Records and dump file of {@link SamsungMDCWireTrace}
+ */
+class SamsungMDCWireTraceTest {
+
+    /**
+     * This method is used to dump a trace and read its records back
+     * @param trace This is the trace to be dumped
+     * @param types This is the list filled with the record types
+     * @return List<byte[]> This returns the bytes of each record, oldest first
+     */
+    private static List<byte[]> dump(SamsungMDCWireTrace trace, List<Byte> types) throws IOException {
+        File file = File.createTempFile("mdc", ".trace");
+        file.deleteOnExit();
+        int count = trace.dump(file.getPath());
+
+        List<byte[]> records = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            assertEquals(SamsungMDCWireTrace.MAGIC, in.readInt());
+            assertEquals(SamsungMDCWireTrace.VERSION, in.readByte());
+            in.readLong();
+            in.readLong();
+            while (in.available() > 0) {
+                in.readLong();
+                types.add(in.readByte());
+                byte[] bytes = new byte[in.readUnsignedShort()];
+                in.readFully(bytes);
+                records.add(bytes);
+            }
+        }
+        assertEquals(count, records.size());
+        return records;
+    }
+
+    @Test
+    void dumpsRecordsInOrder() throws IOException {
+        SamsungMDCWireTrace trace = new SamsungMDCWireTrace(1024);
+        byte[] request = SamsungMDCUtils.buildSendString((byte) 1, (byte) 0x11);
+        byte[] response = SamsungMDCDeviceTest.response(1, true, 0x11, 0x01);
+        trace.record(SamsungMDCWireTrace.TX, request);
+        trace.record(SamsungMDCWireTrace.RX, response, 0, 4);
+        trace.recordClose();
+
+        List<Byte> types = new ArrayList<>();
+        List<byte[]> records = dump(trace, types);
+        assertEquals(3, records.size());
+        assertEquals(SamsungMDCWireTrace.TX, (byte) types.get(0));
+        assertArrayEquals(request, records.get(0));
+        assertEquals(SamsungMDCWireTrace.RX, (byte) types.get(1));
+        assertEquals(4, records.get(1).length);
+        assertEquals(SamsungMDCWireTrace.CLOSE, (byte) types.get(2));
+        assertEquals(0, records.get(2).length);
+    }
+
+    @Test
+    void overwritesOldestRecords() throws IOException {
+        SamsungMDCWireTrace trace = new SamsungMDCWireTrace(64);
+        for (int i = 0; i < 20; i++) {
+            trace.record(SamsungMDCWireTrace.TX, new byte[]{(byte) i, (byte) i});
+        }
+
+        List<Byte> types = new ArrayList<>();
+        List<byte[]> records = dump(trace, types);
+        assertEquals(20, trace.getRecords());
+        assertTrue(records.size() < 20);
+        //the newest records are kept, in order
+        for (int i = 0; i < records.size(); i++) {
+            assertEquals(20 - records.size() + i, records.get(i)[0]);
+        }
+    }
+}